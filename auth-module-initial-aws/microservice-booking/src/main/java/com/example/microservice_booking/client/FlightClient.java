@@ -1,8 +1,10 @@
 package com.example.microservice_booking.client;
 
+import com.example.microservice_booking.dto.SeatBatchReservationDto;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
 
 import java.util.UUID;
@@ -21,9 +23,23 @@ public interface FlightClient {
             @RequestParam UUID bookingId
     );
 
+    @PostMapping("/api/flights/{flightId}/seats/reserve-batch")
+    Boolean reserveSeats(
+            @PathVariable UUID flightId,
+            @RequestBody SeatBatchReservationDto request
+    );
+
+    @PostMapping("/api/flights/{flightId}/seats/confirm")
+    Integer confirmSeats(
+            @PathVariable UUID flightId,
+            @RequestParam UUID bookingId,
+            @RequestParam int expectedSeats
+    );
+
     @PostMapping("/api/flights/{flightId}/seats/{seatNumber}/release")
     void releaseSeat(
             @PathVariable UUID flightId,
-            @PathVariable String seatNumber
+            @PathVariable String seatNumber,
+            @RequestParam UUID bookingId
     );
 }
\ No newline at end of file
@@ -0,0 +1,23 @@
+package com.example.microservice_booking.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeatBatchReservationDto {
+    @NotNull
+    private UUID bookingId;
+
+    @NotEmpty
+    private List<String> seatNumbers;
+}
@@ -5,6 +5,7 @@ import java.util.Map;
 import com.example.microservice_booking.client.FlightClient;
 import com.example.microservice_booking.dto.BookingDto;
 import com.example.microservice_booking.dto.PassengerDto;
+import com.example.microservice_booking.dto.SeatBatchReservationDto;
 import com.example.microservice_booking.model.BookingEntity;
 import com.example.microservice_booking.model.BookingStatus;
 import com.example.microservice_booking.model.PassengerEntity;
@@ -64,17 +65,21 @@ public class BookingServiceImpl implements BookingService {
 
         booking.setPassengers(passengers);
 
-        // Reservar asientos en Flight Service
-        for (PassengerDto passenger : dto.getPassengers()) {
-            Boolean reserved = flightClient.reserveSeat(
-                    dto.getFlightId(),
-                    passenger.getSeatNumber(),
-                    booking.getId()
-            );
+        // Reservar todos los asientos en Flight Service en una sola llamada (todo o nada)
+        List<String> seatNumbers = dto.getPassengers().stream()
+                .map(PassengerDto::getSeatNumber)
+                .collect(Collectors.toList());
 
-            if (!reserved) {
-                throw new RuntimeException("Seat " + passenger.getSeatNumber() + " not available");
-            }
+        Boolean reserved = flightClient.reserveSeats(
+                dto.getFlightId(),
+                SeatBatchReservationDto.builder()
+                        .bookingId(booking.getId())
+                        .seatNumbers(seatNumbers)
+                        .build()
+        );
+
+        if (!Boolean.TRUE.equals(reserved)) {
+            throw new RuntimeException("Seats " + seatNumbers + " not available");
         }
 
         BookingEntity saved = bookingRepository.save(booking);
@@ -96,6 +101,13 @@ public class BookingServiceImpl implements BookingService {
             throw new IllegalStateException("Booking is not in PENDING status");
         }
 
+        // Convierte los holds en asientos ocupados; si alguno venció no se confirma ninguno
+        int expectedSeats = booking.getPassengers().size();
+        Integer confirmed = flightClient.confirmSeats(booking.getFlightId(), bookingId, expectedSeats);
+        if (confirmed == null || confirmed != expectedSeats) {
+            throw new IllegalStateException("Seat hold expired for booking " + booking.getBookingReference());
+        }
+
         booking.setStatus(BookingStatus.CONFIRMED);
         booking.setPaymentId(paymentId);
         booking.setConfirmedAt(LocalDateTime.now());
@@ -118,9 +130,11 @@ public class BookingServiceImpl implements BookingService {
             throw new IllegalStateException("Booking already cancelled");
         }
 
-        // Liberar asientos
-        for (PassengerEntity passenger : booking.getPassengers()) {
-            flightClient.releaseSeat(booking.getFlightId(), passenger.getSeatNumber());
+        // Liberar asientos; los de una reserva vencida ya los liberó microservice-flight y pueden ser de otra
+        if (booking.getStatus() != BookingStatus.EXPIRED) {
+            for (PassengerEntity passenger : booking.getPassengers()) {
+                flightClient.releaseSeat(booking.getFlightId(), passenger.getSeatNumber(), bookingId);
+            }
         }
 
         booking.setStatus(BookingStatus.CANCELLED);
@@ -142,10 +156,7 @@ public class BookingServiceImpl implements BookingService {
         for (BookingEntity booking : expired) {
             log.warn("Processing expired booking: {}", booking.getBookingReference());
 
-            // Liberar asientos
-            for (PassengerEntity passenger : booking.getPassengers()) {
-                flightClient.releaseSeat(booking.getFlightId(), passenger.getSeatNumber());
-            }
+            // Los asientos los libera microservice-flight cuando vence el hold
 
             booking.setStatus(BookingStatus.EXPIRED);
             bookingRepository.save(booking);
@@ -0,0 +1,101 @@
+package com.example.microservice_flight.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Caché en proceso acotada por tamaño (LRU) y por antigüedad de cada entrada, para datos de
+ * referencia que casi no cambian. Las ausencias no se guardan: un id inexistente siempre va a la base de datos.
+ */
+public class ReferenceDataCache<K, V> {
+
+    private final String name;
+    private final int maxSize;
+    private final long ttlMillis;
+    private final Function<K, Optional<V>> loader;
+    private final LinkedHashMap<K, Entry<V>> entries;
+    private long invalidations;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    public ReferenceDataCache(String name, int maxSize, long ttlMillis,
+                              Function<K, Optional<V>> loader, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlMillis;
+        this.loader = loader;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                if (size() > ReferenceDataCache.this.maxSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+
+        this.hits = Counter.builder("flight.reference.cache.gets")
+                .tag("cache", name).tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("flight.reference.cache.gets")
+                .tag("cache", name).tag("result", "miss")
+                .register(meterRegistry);
+        this.evictions = Counter.builder("flight.reference.cache.evictions")
+                .tag("cache", name)
+                .register(meterRegistry);
+        Gauge.builder("flight.reference.cache.size", this, ReferenceDataCache::size)
+                .tag("cache", name)
+                .register(meterRegistry);
+    }
+
+    public Optional<V> get(K key) {
+        long now = System.currentTimeMillis();
+        long generation;
+        synchronized (this) {
+            Entry<V> entry = entries.get(key);
+            if (entry != null && now - entry.loadedAtMillis() <= ttlMillis) {
+                hits.increment();
+                return Optional.of(entry.value());
+            }
+            generation = invalidations;
+        }
+
+        // La carga se hace fuera del lock: dos hilos pueden cargar la misma clave, pero nadie espera a la base de datos de otro
+        misses.increment();
+        Optional<V> loaded = loader.apply(key);
+        loaded.ifPresent(value -> {
+            synchronized (this) {
+                // Si hubo una invalidación durante la carga, el valor leído puede ser anterior a ella
+                if (generation == invalidations) {
+                    entries.put(key, new Entry<>(value, now));
+                }
+            }
+        });
+        return loaded;
+    }
+
+    public synchronized void invalidate(K key) {
+        invalidations++;
+        entries.remove(key);
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    private record Entry<V>(V value, long loadedAtMillis) {
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.microservice_flight.cache;
+
+import com.example.microservice_flight.dto.AircraftDto;
+import com.example.microservice_flight.dto.RouteDto;
+import com.example.microservice_flight.model.AircraftEntity;
+import com.example.microservice_flight.model.RouteEntity;
+import com.example.microservice_flight.repository.AircraftRepository;
+import com.example.microservice_flight.repository.RouteRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Lecturas de aviones y rutas a través de cachés en proceso. Guarda DTOs, no entidades,
+ * para que los valores compartidos entre hilos no estén ligados a ninguna sesión de Hibernate.
+ */
+@Component
+public class ReferenceDataLookup {
+
+    private final ReferenceDataCache<UUID, AircraftDto> aircraftCache;
+    private final ReferenceDataCache<UUID, RouteDto> routeCache;
+
+    public ReferenceDataLookup(
+            AircraftRepository aircraftRepository,
+            RouteRepository routeRepository,
+            MeterRegistry meterRegistry,
+            @Value("${flight.reference-cache.max-size:1000}") int maxSize,
+            @Value("${flight.reference-cache.ttl-seconds:600}") long ttlSeconds) {
+        this.aircraftCache = new ReferenceDataCache<>("aircraft", maxSize, ttlSeconds * 1000,
+                id -> aircraftRepository.findById(id).map(ReferenceDataLookup::mapAircraft), meterRegistry);
+        this.routeCache = new ReferenceDataCache<>("route", maxSize, ttlSeconds * 1000,
+                id -> routeRepository.findById(id).map(ReferenceDataLookup::mapRoute), meterRegistry);
+    }
+
+    public Optional<AircraftDto> findAircraft(UUID id) {
+        return aircraftCache.get(id);
+    }
+
+    public Optional<RouteDto> findRoute(UUID id) {
+        return routeCache.get(id);
+    }
+
+    public void evictAircraft(UUID id) {
+        invalidateNowAndAfterCommit(() -> aircraftCache.invalidate(id));
+    }
+
+    public void evictRoute(UUID id) {
+        invalidateNowAndAfterCommit(() -> routeCache.invalidate(id));
+    }
+
+    private static AircraftDto mapAircraft(AircraftEntity entity) {
+        return AircraftDto.builder()
+                .id(entity.getId())
+                .registrationNumber(entity.getRegistrationNumber())
+                .model(entity.getModel())
+                .manufacturer(entity.getManufacturer())
+                .totalSeats(entity.getTotalSeats())
+                .economySeats(entity.getEconomySeats())
+                .businessSeats(entity.getBusinessSeats())
+                .firstClassSeats(entity.getFirstClassSeats())
+                .status(entity.getStatus())
+                .yearManufactured(entity.getYearManufactured())
+                .createdAt(entity.getCreatedAt())
+                .build();
+    }
+
+    private static RouteDto mapRoute(RouteEntity entity) {
+        return RouteDto.builder()
+                .id(entity.getId())
+                .originAirport(entity.getOriginAirport())
+                .destinationAirport(entity.getDestinationAirport())
+                .originCity(entity.getOriginCity())
+                .destinationCity(entity.getDestinationCity())
+                .originCountry(entity.getOriginCountry())
+                .destinationCountry(entity.getDestinationCountry())
+                .distanceKm(entity.getDistanceKm())
+                .estimatedDurationMinutes(entity.getEstimatedDurationMinutes())
+                .status(entity.getStatus())
+                .build();
+    }
+
+    private void invalidateNowAndAfterCommit(Runnable action) {
+        // Se invalida también ahora: una lectura durante la transacción no debe volver a cachear el valor viejo
+        action.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.microservice_flight.config;
+
+import org.springframework.amqp.core.Exchange;
+import org.springframework.amqp.core.ExchangeBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class RabbitMQConfig {
+
+    public static final String FLIGHT_EXCHANGE = "flight.exchange";
+
+    public static final String FLIGHT_UPDATED_ROUTING_KEY = "flight.updated";
+    public static final String FLIGHT_OCCUPANCY_ROUTING_KEY = "flight.occupancy";
+    public static final String FLIGHT_CANCELLED_ROUTING_KEY = "flight.cancelled";
+
+    @Bean
+    public Exchange flightExchange() {
+        return ExchangeBuilder.topicExchange(FLIGHT_EXCHANGE).durable(true).build();
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.microservice_flight.controller;
 
 import com.example.microservice_flight.dto.AircraftDto;
+import com.example.microservice_flight.dto.CursorPageDto;
 import com.example.microservice_flight.service.AircraftService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -40,6 +41,13 @@ public class AircraftController {
         return ResponseEntity.ok(aircraftService.getAllAircraft(pageable));
     }
 
+    @GetMapping("/cursor")
+    public ResponseEntity<CursorPageDto<AircraftDto>> getAircraftPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") Integer size) {
+        return ResponseEntity.ok(aircraftService.getAircraftAfter(cursor, size));
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteAircraft(@PathVariable UUID id) {
         aircraftService.deleteAircraft(id);
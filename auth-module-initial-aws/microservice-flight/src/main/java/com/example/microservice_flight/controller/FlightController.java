@@ -1,7 +1,16 @@
 package com.example.microservice_flight.controller;
 
+import com.example.microservice_flight.dto.ConnectionItineraryDto;
+import com.example.microservice_flight.dto.CursorPageDto;
 import com.example.microservice_flight.dto.FlightDto;
+import com.example.microservice_flight.dto.FlightImportResultDto;
+import com.example.microservice_flight.dto.SeatAvailabilityDto;
+import com.example.microservice_flight.dto.SeatBatchReservationDto;
 import com.example.microservice_flight.dto.SeatDto;
+import com.example.microservice_flight.dto.SeatMapDto;
+import com.example.microservice_flight.model.SeatClass;
+import com.example.microservice_flight.reservation.SeatReservationCoordinator;
+import com.example.microservice_flight.service.FlightImportService;
 import com.example.microservice_flight.service.FlightService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -9,9 +18,14 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.InputStream;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
@@ -23,6 +37,8 @@ import java.util.UUID;
 public class FlightController {
 
     private final FlightService flightService;
+    private final SeatReservationCoordinator reservationCoordinator;
+    private final FlightImportService flightImportService;
 
     @PostMapping
     public ResponseEntity<FlightDto> createFlight(@Valid @RequestBody FlightDto dto) {
@@ -30,6 +46,18 @@ public class FlightController {
         return ResponseEntity.ok(flightService.createFlight(dto));
     }
 
+    // El cuerpo se consume en streaming: no se carga el archivo completo en memoria
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson"})
+    public ResponseEntity<FlightImportResultDto> importFlights(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body) {
+        FlightImportService.ImportFormat format = contentType.startsWith("text/csv")
+                ? FlightImportService.ImportFormat.CSV
+                : FlightImportService.ImportFormat.NDJSON;
+        log.info("Importing flight schedule ({})", format);
+        return ResponseEntity.ok(flightImportService.importSchedule(body, format));
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<FlightDto> updateFlight(
             @PathVariable UUID id,
@@ -47,6 +75,13 @@ public class FlightController {
         return ResponseEntity.ok(flightService.getAllFlights(pageable));
     }
 
+    @GetMapping("/cursor")
+    public ResponseEntity<CursorPageDto<FlightDto>> getFlightsPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") Integer size) {
+        return ResponseEntity.ok(flightService.getFlightsAfter(cursor, size));
+    }
+
     @GetMapping("/search")
     public ResponseEntity<List<FlightDto>> searchFlights(
             @RequestParam String origin,
@@ -55,28 +90,103 @@ public class FlightController {
         return ResponseEntity.ok(flightService.searchFlights(origin, destination, date));
     }
 
+    @GetMapping("/search/range")
+    public ResponseEntity<List<FlightDto>> searchFlightsInRange(
+            @RequestParam String origin,
+            @RequestParam String destination,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(flightService.searchFlightsInRange(origin, destination, from, to));
+    }
+
+    @GetMapping("/search/connections")
+    public ResponseEntity<List<ConnectionItineraryDto>> searchConnections(
+            @RequestParam String origin,
+            @RequestParam String destination,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(defaultValue = "1") Integer maxStops) {
+        return ResponseEntity.ok(flightService.searchConnections(origin, destination, date, maxStops));
+    }
+
     @GetMapping("/{id}/seats/available")
     public ResponseEntity<List<SeatDto>> getAvailableSeats(@PathVariable UUID id) {
         return ResponseEntity.ok(flightService.getAvailableSeats(id));
     }
 
+    @GetMapping("/{id}/seats/availability")
+    public ResponseEntity<SeatAvailabilityDto> getSeatAvailability(@PathVariable UUID id) {
+        return ResponseEntity.ok(flightService.getSeatAvailability(id));
+    }
+
+    @GetMapping("/{id}/seats/map")
+    public ResponseEntity<SeatMapDto> getSeatMap(
+            @PathVariable UUID id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        SeatMapDto seatMap = flightService.getSeatMap(id);
+        String etag = "\"" + seatMap.getVersion() + "\"";
+
+        if (etag.equals(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .cacheControl(CacheControl.noCache())
+                    .build();
+        }
+
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .body(seatMap);
+    }
+
     @PostMapping("/{flightId}/seats/{seatNumber}/reserve")
     public ResponseEntity<Boolean> reserveSeat(
             @PathVariable UUID flightId,
             @PathVariable String seatNumber,
             @RequestParam UUID bookingId) {
-        boolean reserved = flightService.reserveSeat(flightId, seatNumber, bookingId);
+        boolean reserved = reservationCoordinator.execute(flightId,
+                () -> flightService.reserveSeat(flightId, seatNumber, bookingId));
+        return ResponseEntity.ok(reserved);
+    }
+
+    @PostMapping("/{flightId}/seats/reserve-batch")
+    public ResponseEntity<Boolean> reserveSeats(
+            @PathVariable UUID flightId,
+            @Valid @RequestBody SeatBatchReservationDto dto) {
+        boolean reserved = reservationCoordinator.execute(flightId,
+                () -> flightService.reserveSeats(flightId, dto.getSeatNumbers(), dto.getBookingId()));
         return ResponseEntity.ok(reserved);
     }
 
+    @PostMapping("/{id}/seats/auto-assign")
+    public ResponseEntity<List<SeatDto>> autoAssignSeats(
+            @PathVariable UUID id,
+            @RequestParam int count,
+            @RequestParam SeatClass seatClass,
+            @RequestParam UUID bookingId) {
+        List<SeatDto> seats = reservationCoordinator.execute(id,
+                () -> flightService.autoAssignSeats(id, count, seatClass, bookingId));
+        return ResponseEntity.ok(seats);
+    }
+
     @PostMapping("/{flightId}/seats/{seatNumber}/release")
     public ResponseEntity<Void> releaseSeat(
             @PathVariable UUID flightId,
-            @PathVariable String seatNumber) {
-        flightService.releaseSeat(flightId, seatNumber);
+            @PathVariable String seatNumber,
+            @RequestParam UUID bookingId) {
+        reservationCoordinator.run(flightId, () -> flightService.releaseSeat(flightId, seatNumber, bookingId));
         return ResponseEntity.noContent().build();
     }
 
+    @PostMapping("/{flightId}/seats/confirm")
+    public ResponseEntity<Integer> confirmSeats(
+            @PathVariable UUID flightId,
+            @RequestParam UUID bookingId,
+            @RequestParam int expectedSeats) {
+        int confirmed = reservationCoordinator.execute(flightId,
+                () -> flightService.confirmSeats(flightId, bookingId, expectedSeats));
+        return ResponseEntity.ok(confirmed);
+    }
+
     @GetMapping("/{id}/with-pricing")
     public ResponseEntity<FlightDto> getFlightWithDynamicPricing(@PathVariable UUID id) {
         System.out.println("entro");
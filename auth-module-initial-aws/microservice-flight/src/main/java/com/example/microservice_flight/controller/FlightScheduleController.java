@@ -0,0 +1,54 @@
+package com.example.microservice_flight.controller;
+
+import com.example.microservice_flight.dto.FlightScheduleDto;
+import com.example.microservice_flight.service.FlightScheduleService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+import java.util.UUID;
+
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/api/flight-schedules")
+public class FlightScheduleController {
+
+    private final FlightScheduleService flightScheduleService;
+
+    @PostMapping
+    public ResponseEntity<FlightScheduleDto> createSchedule(@Valid @RequestBody FlightScheduleDto dto) {
+        return ResponseEntity.ok(flightScheduleService.createSchedule(dto));
+    }
+
+    @PutMapping("/{id}")
+    public ResponseEntity<FlightScheduleDto> updateSchedule(
+            @PathVariable UUID id,
+            @RequestBody FlightScheduleDto dto) {
+        return ResponseEntity.ok(flightScheduleService.updateSchedule(id, dto));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<FlightScheduleDto> getSchedule(@PathVariable UUID id) {
+        return ResponseEntity.ok(flightScheduleService.getSchedule(id));
+    }
+
+    @GetMapping
+    public ResponseEntity<Page<FlightScheduleDto>> getAllSchedules(Pageable pageable) {
+        return ResponseEntity.ok(flightScheduleService.getAllSchedules(pageable));
+    }
+
+    @PostMapping("/{id}/expand")
+    public ResponseEntity<Map<String, Integer>> expandSchedule(@PathVariable UUID id) {
+        return ResponseEntity.ok(Map.of("flightsCreated", flightScheduleService.expandSchedule(id)));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deactivateSchedule(@PathVariable UUID id) {
+        flightScheduleService.deactivateSchedule(id);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.microservice_flight.controller;
 
+import com.example.microservice_flight.dto.CursorPageDto;
 import com.example.microservice_flight.dto.RouteDto;
 import com.example.microservice_flight.service.RouteService;
 import jakarta.validation.Valid;
@@ -40,6 +41,13 @@ public class RouteController {
         return ResponseEntity.ok(routeService.getAllRoutes(pageable));
     }
 
+    @GetMapping("/cursor")
+    public ResponseEntity<CursorPageDto<RouteDto>> getRoutesPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") Integer size) {
+        return ResponseEntity.ok(routeService.getRoutesAfter(cursor, size));
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteRoute(@PathVariable UUID id) {
         routeService.deleteRoute(id);
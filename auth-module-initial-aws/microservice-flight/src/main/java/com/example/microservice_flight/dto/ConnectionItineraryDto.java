@@ -0,0 +1,26 @@
+package com.example.microservice_flight.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ConnectionItineraryDto {
+    private List<FlightDto> legs;
+    private Integer stops;
+
+    private LocalDateTime departureTime;
+    private LocalDateTime arrivalTime;
+    private Long totalDurationMinutes;
+
+    private BigDecimal totalBasePrice;
+    private Integer availableSeats; // Mínimo entre los tramos
+}
@@ -0,0 +1,30 @@
+package com.example.microservice_flight.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FlightImportResultDto {
+    private Integer totalRows;
+    private Integer imported;
+    private Integer failed;
+    private Long elapsedMillis;
+    private List<RowError> errors; // Solo los primeros errores; failed tiene el total
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+        private Integer row;
+        private String flightNumber;
+        private String message;
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.microservice_flight.dto;
+
+import com.example.microservice_flight.model.ScheduleStatus;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Set;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FlightScheduleDto {
+    private UUID id;
+
+    @NotBlank
+    private String flightNumber;
+
+    @NotNull
+    private UUID aircraftId;
+
+    @NotNull
+    private UUID routeId;
+
+    @NotEmpty
+    private Set<DayOfWeek> daysOfWeek;
+
+    @NotNull
+    private LocalTime departureTime;
+
+    @NotNull
+    private LocalTime arrivalTime;
+
+    @NotNull
+    private LocalDate validFrom;
+
+    @NotNull
+    private LocalDate validTo;
+
+    @NotNull
+    private BigDecimal basePrice;
+
+    private ScheduleStatus status;
+    private LocalDate expandedUntil;
+}
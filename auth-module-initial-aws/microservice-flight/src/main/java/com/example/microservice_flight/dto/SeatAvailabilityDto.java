@@ -0,0 +1,21 @@
+package com.example.microservice_flight.dto;
+
+import com.example.microservice_flight.model.SeatClass;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeatAvailabilityDto {
+    private UUID flightId;
+    private Integer totalSeats;
+    private Integer availableSeats;
+    private Map<SeatClass, Integer> availableByClass;
+}
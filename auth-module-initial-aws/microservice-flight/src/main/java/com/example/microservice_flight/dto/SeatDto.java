@@ -31,4 +31,5 @@ public class SeatDto {
     private SeatStatus status;
     private UUID reservedByBookingId;
     private LocalDateTime reservedAt;
+    private LocalDateTime holdExpiresAt;
 }
\ No newline at end of file
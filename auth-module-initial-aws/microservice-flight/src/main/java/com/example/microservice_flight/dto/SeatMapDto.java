@@ -0,0 +1,41 @@
+package com.example.microservice_flight.dto;
+
+import com.example.microservice_flight.model.SeatClass;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Mapa de asientos compacto: la distribución de cabina se envía una sola vez y la
+ * disponibilidad va como bitmap en Base64. El bit i (byte i / 8, bit i % 8) es el
+ * asiento i recorriendo las cabinas en orden, fila por fila y columna por columna;
+ * 1 = disponible.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeatMapDto {
+    private UUID flightId;
+    private Integer totalSeats;
+    private Integer availableSeats;
+    private List<Cabin> cabins;
+    private String availability;
+    private String version;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Cabin {
+        private SeatClass seatClass;
+        private Integer firstRow;
+        private Integer lastRow;
+        private String columns;
+        private Integer seats;
+    }
+}
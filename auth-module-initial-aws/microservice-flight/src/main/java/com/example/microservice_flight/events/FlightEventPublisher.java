@@ -0,0 +1,76 @@
+package com.example.microservice_flight.events;
+
+import com.example.microservice_flight.config.RabbitMQConfig;
+import com.example.microservice_flight.dto.FlightDto;
+import com.example.microservice_flight.model.FlightStatus;
+import com.example.microservice_flight.repository.FlightOutboxRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Registra eventos de vuelo en el outbox dentro de la transacción en curso.
+ * La publicación real la hace {@link FlightOutboxRelay} después del commit.
+ */
+@RequiredArgsConstructor
+@Component
+public class FlightEventPublisher {
+
+    private final FlightOutboxRepository flightOutboxRepository;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public void flightUpdated(FlightDto flight) {
+        String routingKey = flight.getStatus() == FlightStatus.CANCELLED
+                ? RabbitMQConfig.FLIGHT_CANCELLED_ROUTING_KEY
+                : RabbitMQConfig.FLIGHT_UPDATED_ROUTING_KEY;
+
+        flightOutboxRepository.insert(routingKey, flight.getId(), toJson(flightEvent(flight)));
+    }
+
+    // Vuelos nuevos (importación, expansión de horarios): se anuncian como flight.updated para que search
+    // invalide la ruta y la fecha en las que empiezan a aparecer
+    public void flightsCreated(Collection<FlightDto> flights) {
+        Map<UUID, String> payloads = new LinkedHashMap<>();
+        for (FlightDto flight : flights) {
+            payloads.put(flight.getId(), toJson(flightEvent(flight)));
+        }
+        flightOutboxRepository.insertAll(RabbitMQConfig.FLIGHT_UPDATED_ROUTING_KEY, payloads);
+    }
+
+    // Solo marca el vuelo: el relay agrupa por vuelo y publica los contadores vigentes
+    public void occupancyChanged(UUID flightId) {
+        flightOutboxRepository.insert(RabbitMQConfig.FLIGHT_OCCUPANCY_ROUTING_KEY, flightId, null);
+    }
+
+    private Map<String, Object> flightEvent(FlightDto flight) {
+        Map<String, Object> event = new LinkedHashMap<>();
+        event.put("flightId", flight.getId().toString());
+        event.put("flightNumber", flight.getFlightNumber());
+        event.put("departureTime", flight.getDepartureTime().toString());
+        event.put("arrivalTime", flight.getArrivalTime().toString());
+        if (flight.getRoute() != null) {
+            // Search invalida por ruta y fecha: un vuelo movido de día aparece en búsquedas que aún no lo listaban
+            event.put("originAirport", flight.getRoute().getOriginAirport());
+            event.put("destinationAirport", flight.getRoute().getDestinationAirport());
+        }
+        event.put("basePrice", flight.getBasePrice());
+        event.put("status", flight.getStatus().toString());
+        event.put("timestamp", LocalDateTime.now().toString());
+        return event;
+    }
+
+    private String toJson(Map<String, Object> event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize flight event", e);
+        }
+    }
+}
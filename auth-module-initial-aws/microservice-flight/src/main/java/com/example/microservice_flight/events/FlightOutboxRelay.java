@@ -0,0 +1,150 @@
+package com.example.microservice_flight.events;
+
+import com.example.microservice_flight.config.RabbitMQConfig;
+import com.example.microservice_flight.repository.FlightOutboxRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageBuilder;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Publica el outbox en RabbitMQ. Cada pasada toma las filas pendientes con bloqueo, agrupa los
+ * eventos de ocupación por vuelo (una venta de N asientos emite un solo mensaje por ventana),
+ * espera la confirmación del broker y solo entonces marca las filas como publicadas.
+ * Entrega al menos una vez: el messageId permite a los consumidores descartar duplicados.
+ */
+@Slf4j
+@Component
+public class FlightOutboxRelay {
+
+    private final FlightOutboxRepository flightOutboxRepository;
+    private final RabbitTemplate rabbitTemplate;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final int batchSize;
+    private final long confirmTimeoutMs;
+    private final long retentionHours;
+
+    public FlightOutboxRelay(
+            FlightOutboxRepository flightOutboxRepository,
+            RabbitTemplate rabbitTemplate,
+            @Value("${flight.events.batch-size:500}") int batchSize,
+            @Value("${flight.events.confirm-timeout-ms:5000}") long confirmTimeoutMs,
+            @Value("${flight.events.retention-hours:24}") long retentionHours) {
+        this.flightOutboxRepository = flightOutboxRepository;
+        this.rabbitTemplate = rabbitTemplate;
+        this.batchSize = batchSize;
+        this.confirmTimeoutMs = confirmTimeoutMs;
+        this.retentionHours = retentionHours;
+    }
+
+    // El intervalo es la ventana de agrupación de los eventos de ocupación
+    @Scheduled(fixedDelayString = "${flight.events.relay-interval-ms:1000}")
+    @Transactional
+    public void relay() {
+        List<FlightOutboxRepository.PendingEvent> pending = flightOutboxRepository.lockPending(batchSize);
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        List<Message> messages = new ArrayList<>();
+        List<String> routingKeys = new ArrayList<>();
+        List<Long> ids = new ArrayList<>(pending.size());
+
+        // Ocupación: se conserva la última fila de cada vuelo, en su posición, con los contadores actuales
+        Map<UUID, Long> lastOccupancy = new LinkedHashMap<>();
+        for (FlightOutboxRepository.PendingEvent event : pending) {
+            ids.add(event.id());
+            if (RabbitMQConfig.FLIGHT_OCCUPANCY_ROUTING_KEY.equals(event.eventType())) {
+                lastOccupancy.put(event.flightId(), event.id());
+            }
+        }
+        Map<UUID, FlightOutboxRepository.FlightOccupancy> occupancy = new LinkedHashMap<>();
+        flightOutboxRepository.findOccupancy(lastOccupancy.keySet())
+                .forEach(current -> occupancy.put(current.flightId(), current));
+
+        for (FlightOutboxRepository.PendingEvent event : pending) {
+            String payload = event.payload();
+            if (RabbitMQConfig.FLIGHT_OCCUPANCY_ROUTING_KEY.equals(event.eventType())) {
+                FlightOutboxRepository.FlightOccupancy current = occupancy.get(event.flightId());
+                // Vuelo ya archivado o fila superada por otra más reciente del mismo vuelo
+                if (current == null || lastOccupancy.get(event.flightId()) != event.id()) {
+                    continue;
+                }
+                payload = occupancyPayload(current);
+            }
+            messages.add(toMessage(event, payload));
+            routingKeys.add(event.eventType());
+        }
+
+        // Si el broker no confirma se lanza excepción y la transacción deja las filas pendientes
+        rabbitTemplate.invoke(operations -> {
+            for (int i = 0; i < messages.size(); i++) {
+                operations.send(RabbitMQConfig.FLIGHT_EXCHANGE, routingKeys.get(i), messages.get(i));
+            }
+            operations.waitForConfirmsOrDie(confirmTimeoutMs);
+            return null;
+        });
+
+        flightOutboxRepository.markPublished(ids, LocalDateTime.now());
+        log.debug("Published {} flight events ({} outbox rows)", messages.size(), ids.size());
+    }
+
+    @Scheduled(fixedDelayString = "${flight.events.cleanup-interval-ms:600000}")
+    public void purgePublished() {
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(retentionHours);
+        int deleted;
+        int total = 0;
+        do {
+            deleted = flightOutboxRepository.deletePublishedBefore(cutoff, batchSize);
+            total += deleted;
+        } while (deleted == batchSize);
+
+        if (total > 0) {
+            log.info("Purged {} published flight events", total);
+        }
+    }
+
+    private String occupancyPayload(FlightOutboxRepository.FlightOccupancy current) {
+        int booked = current.bookedSeats();
+        int available = current.availableSeats();
+
+        Map<String, Object> event = new LinkedHashMap<>();
+        event.put("flightId", current.flightId().toString());
+        event.put("availableSeats", available);
+        event.put("bookedSeats", booked);
+        event.put("occupancyRate", available == 0 ? 0.0 : (double) booked / (booked + available));
+        event.put("status", current.status().toString());
+        event.put("timestamp", LocalDateTime.now().toString());
+
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize flight event", e);
+        }
+    }
+
+    private Message toMessage(FlightOutboxRepository.PendingEvent event, String payload) {
+        return MessageBuilder.withBody(payload.getBytes(StandardCharsets.UTF_8))
+                .setContentType(MessageProperties.CONTENT_TYPE_JSON)
+                .setContentEncoding(StandardCharsets.UTF_8.name())
+                .setMessageId(String.valueOf(event.id()))
+                .setType(event.eventType())
+                .build();
+    }
+}
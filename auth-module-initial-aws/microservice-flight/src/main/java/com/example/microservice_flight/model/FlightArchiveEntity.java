@@ -0,0 +1,85 @@
+package com.example.microservice_flight.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Vuelo ya salido movido a almacenamiento frío. Las filas de asientos no se conservan:
+ * se compactan en contadores por clase y la lista de asientos ocupados.
+ * Avión y ruta se guardan como ids sin clave foránea para no bloquear su borrado.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "flights_archive", indexes = {
+        @Index(name = "idx_flights_archive_number_departure", columnList = "flight_number, departure_time")
+})
+public class FlightArchiveEntity {
+
+    // Mismo id que tenía en flights
+    @Id
+    @JdbcTypeCode(SqlTypes.CHAR)
+    @Column(columnDefinition = "CHAR(36)")
+    private UUID id;
+
+    @Column(name = "flight_number", nullable = false)
+    private String flightNumber;
+
+    @JdbcTypeCode(SqlTypes.CHAR)
+    @Column(name = "aircraft_id", nullable = false, columnDefinition = "CHAR(36)")
+    private UUID aircraftId;
+
+    @JdbcTypeCode(SqlTypes.CHAR)
+    @Column(name = "route_id", nullable = false, columnDefinition = "CHAR(36)")
+    private UUID routeId;
+
+    @Column(name = "departure_time", nullable = false)
+    private LocalDateTime departureTime;
+
+    @Column(name = "arrival_time", nullable = false)
+    private LocalDateTime arrivalTime;
+
+    @Column(name = "base_price", nullable = false, precision = 10, scale = 2)
+    private BigDecimal basePrice;
+
+    @Column(name = "available_seats", nullable = false)
+    private Integer availableSeats;
+
+    @Column(name = "booked_seats", nullable = false)
+    private Integer bookedSeats;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private FlightStatus status;
+
+    // Resumen de asientos: ocupados/reservados por clase
+    @Column(name = "first_class_booked", nullable = false)
+    private Integer firstClassBooked;
+
+    @Column(name = "business_booked", nullable = false)
+    private Integer businessBooked;
+
+    @Column(name = "economy_booked", nullable = false)
+    private Integer economyBooked;
+
+    // Números de asiento ocupados separados por comas: 1A,1B,12C
+    @Column(name = "booked_seat_numbers", columnDefinition = "TEXT")
+    private String bookedSeatNumbers;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+}
@@ -11,6 +11,7 @@ import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.type.SqlTypes;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
@@ -19,7 +20,11 @@ import java.util.UUID;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
-@Table(name = "flights")
+@Table(name = "flights", indexes = {
+        @Index(name = "idx_flights_departure_id", columnList = "departure_time, id")
+}, uniqueConstraints = {
+        @UniqueConstraint(name = "uk_flights_number_departure_date", columnNames = {"flight_number", "departure_date"})
+})
 public class FlightEntity {
 
     @Id
@@ -28,8 +33,9 @@ public class FlightEntity {
     @Column(columnDefinition = "CHAR(36)")
     private UUID id;
 
+    // Un mismo número opera en muchas fechas: la unicidad es (flight_number, departure_date)
     @NotBlank
-    @Column(unique = true, nullable = false)
+    @Column(nullable = false)
     private String flightNumber; // AA1234
 
     @NotNull
@@ -50,6 +56,11 @@ public class FlightEntity {
     @Column(nullable = false)
     private LocalDateTime arrivalTime;
 
+    // Columna generada por MySQL a partir de departure_time; solo lectura desde JPA
+    @Column(name = "departure_date", insertable = false, updatable = false,
+            columnDefinition = "DATE GENERATED ALWAYS AS (CAST(departure_time AS DATE)) STORED")
+    private LocalDate departureDate;
+
     @NotNull
     @Column(nullable = false, precision = 10, scale = 2)
     private BigDecimal basePrice;
@@ -66,6 +77,10 @@ public class FlightEntity {
     @Column(nullable = false)
     private FlightStatus status;
 
+    // false = modo perezoso: solo existen filas de asientos para los asientos reservados
+    @Column(nullable = false, columnDefinition = "BIT(1) DEFAULT 1")
+    private Boolean seatsMaterialized;
+
     @Column(name = "created_at")
     private LocalDateTime createdAt;
 
@@ -81,6 +96,9 @@ public class FlightEntity {
         if (bookedSeats == null) {
             bookedSeats = 0;
         }
+        if (seatsMaterialized == null) {
+            seatsMaterialized = true;
+        }
         if (availableSeats == null && aircraft != null) {
             availableSeats = aircraft.getTotalSeats();
         }
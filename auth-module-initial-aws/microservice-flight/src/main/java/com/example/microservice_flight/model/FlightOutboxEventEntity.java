@@ -0,0 +1,50 @@
+package com.example.microservice_flight.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Evento pendiente de publicar en RabbitMQ. Se escribe en la misma transacción que el cambio
+ * del vuelo, así que un evento nunca se pierde aunque el broker no esté disponible.
+ * Las filas se escriben y leen por JDBC (FlightOutboxRepository); la entidad define el esquema.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "flight_outbox", indexes = {
+        @Index(name = "idx_flight_outbox_published_id", columnList = "published_at, id")
+})
+public class FlightOutboxEventEntity {
+
+    // Autoincremental: define el orden de publicación
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "event_type", nullable = false, length = 64)
+    private String eventType; // Routing key: flight.updated, flight.occupancy, flight.cancelled
+
+    @JdbcTypeCode(SqlTypes.CHAR)
+    @Column(name = "flight_id", nullable = false, columnDefinition = "CHAR(36)")
+    private UUID flightId;
+
+    // JSON del evento; null en flight.occupancy, que se arma al publicar con los contadores actuales
+    @Column(columnDefinition = "TEXT")
+    private String payload;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "published_at")
+    private LocalDateTime publishedAt;
+}
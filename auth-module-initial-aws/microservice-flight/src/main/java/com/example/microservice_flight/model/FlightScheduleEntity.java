@@ -0,0 +1,130 @@
+package com.example.microservice_flight.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Programación recurrente: un número de vuelo que opera ciertos días de la semana a horas fijas
+ * (hora local del aeropuerto) dentro de un periodo de validez. Los vuelos se generan por expansión.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "flight_schedules", indexes = {
+        @Index(name = "idx_flight_schedules_status", columnList = "status")
+})
+public class FlightScheduleEntity {
+
+    @Id
+    @GeneratedValue
+    @JdbcTypeCode(SqlTypes.CHAR)
+    @Column(columnDefinition = "CHAR(36)")
+    private UUID id;
+
+    @NotBlank
+    @Column(nullable = false)
+    private String flightNumber;
+
+    @NotNull
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "aircraft_id", nullable = false)
+    private AircraftEntity aircraft;
+
+    @NotNull
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "route_id", nullable = false)
+    private RouteEntity route;
+
+    // Bit 0 = lunes ... bit 6 = domingo
+    @NotNull
+    @Column(name = "days_of_week", nullable = false)
+    private Integer daysOfWeekMask;
+
+    @NotNull
+    @Column(nullable = false)
+    private LocalTime departureTime;
+
+    // Si es anterior o igual a la salida, el vuelo llega al día siguiente
+    @NotNull
+    @Column(nullable = false)
+    private LocalTime arrivalTime;
+
+    @NotNull
+    @Column(nullable = false)
+    private LocalDate validFrom;
+
+    @NotNull
+    @Column(nullable = false)
+    private LocalDate validTo;
+
+    @NotNull
+    @Column(nullable = false, precision = 10, scale = 2)
+    private BigDecimal basePrice;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ScheduleStatus status;
+
+    // Hasta qué fecha se han generado vuelos; la siguiente expansión continúa desde aquí
+    @Column(name = "expanded_until")
+    private LocalDate expandedUntil;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        if (status == null) {
+            status = ScheduleStatus.ACTIVE;
+        }
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+
+    public boolean operatesOn(DayOfWeek day) {
+        return (daysOfWeekMask & (1 << (day.getValue() - 1))) != 0;
+    }
+
+    public Set<DayOfWeek> getDaysOfWeek() {
+        Set<DayOfWeek> days = EnumSet.noneOf(DayOfWeek.class);
+        for (DayOfWeek day : DayOfWeek.values()) {
+            if (operatesOn(day)) {
+                days.add(day);
+            }
+        }
+        return days;
+    }
+
+    public static int maskOf(Set<DayOfWeek> days) {
+        int mask = 0;
+        for (DayOfWeek day : days) {
+            mask |= 1 << (day.getValue() - 1);
+        }
+        return mask;
+    }
+}
@@ -18,7 +18,9 @@ import java.util.UUID;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
-@Table(name = "routes")
+@Table(name = "routes", indexes = {
+        @Index(name = "idx_routes_origin_destination_id", columnList = "origin_airport, destination_airport, id")
+})
 public class RouteEntity {
 
     @Id
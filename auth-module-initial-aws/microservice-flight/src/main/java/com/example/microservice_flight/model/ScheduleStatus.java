@@ -0,0 +1,6 @@
+package com.example.microservice_flight.model;
+
+public enum ScheduleStatus {
+    ACTIVE,
+    INACTIVE
+}
@@ -20,6 +20,9 @@ import java.util.UUID;
 @Entity
 @Table(name = "seats", uniqueConstraints = {
         @UniqueConstraint(columnNames = {"flight_id", "seat_number"})
+}, indexes = {
+        // Barrido de holds vencidos: status = 'RESERVED' AND hold_expires_at <= ?
+        @Index(name = "idx_seats_status_hold_expires", columnList = "status, hold_expires_at")
 })
 public class SeatEntity {
 
@@ -53,9 +56,17 @@ public class SeatEntity {
     @Column(name = "reserved_at")
     private LocalDateTime reservedAt;
 
+    // Vencimiento del hold temporal; al confirmarse la reserva pasa a null
+    @Column(name = "hold_expires_at")
+    private LocalDateTime holdExpiresAt;
+
     @Column(name = "created_at")
     private LocalDateTime createdAt;
 
+    @Version
+    @Column(nullable = false, columnDefinition = "BIGINT DEFAULT 0")
+    private Long version;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
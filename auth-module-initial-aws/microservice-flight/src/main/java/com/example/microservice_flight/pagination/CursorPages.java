@@ -0,0 +1,37 @@
+package com.example.microservice_flight.pagination;
+
+import com.example.microservice_flight.dto.CursorPageDto;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+public final class CursorPages {
+
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private CursorPages() {
+    }
+
+    public static int validateSize(int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        return size;
+    }
+
+    /**
+     * Arma la página a partir de {@code size + 1} filas: la fila extra solo indica que hay más,
+     * así no hace falta un COUNT(*).
+     */
+    public static <E, T> CursorPageDto<T> of(List<E> rows, int size, Function<E, T> mapper, Function<E, String> cursorOf) {
+        boolean hasMore = rows.size() > size;
+        List<E> page = hasMore ? rows.subList(0, size) : rows;
+
+        return CursorPageDto.<T>builder()
+                .items(page.stream().map(mapper).collect(Collectors.toList()))
+                .nextCursor(hasMore ? cursorOf.apply(page.get(page.size() - 1)) : null)
+                .hasMore(hasMore)
+                .build();
+    }
+}
@@ -2,6 +2,7 @@ package com.example.microservice_flight.repository;
 
 import com.example.microservice_flight.model.AircraftEntity;
 import com.example.microservice_flight.model.AircraftStatus;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import java.util.List;
@@ -12,4 +13,9 @@ public interface AircraftRepository extends JpaRepository<AircraftEntity, UUID>
     Optional<AircraftEntity> findByRegistrationNumber(String registrationNumber);
     List<AircraftEntity> findByStatus(AircraftStatus status);
     List<AircraftEntity> findByModel(String model);
+
+    // La matrícula es única: basta como clave de paginación
+    List<AircraftEntity> findAllByOrderByRegistrationNumber(Limit limit);
+
+    List<AircraftEntity> findByRegistrationNumberGreaterThanOrderByRegistrationNumber(String registrationNumber, Limit limit);
 }
\ No newline at end of file
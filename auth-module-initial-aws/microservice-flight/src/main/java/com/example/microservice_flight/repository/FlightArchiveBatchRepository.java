@@ -0,0 +1,64 @@
+package com.example.microservice_flight.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Movimiento de vuelos a flights_archive con sentencias set-based: la compactación de los
+ * asientos se hace en el servidor con un único INSERT ... SELECT agrupado por vuelo.
+ * Debe ejecutarse dentro de una transacción para que copia y borrado sean atómicos.
+ */
+@RequiredArgsConstructor
+@Repository
+public class FlightArchiveBatchRepository {
+
+    // Con ~300 asientos por vuelo el límite por defecto de GROUP_CONCAT (1024) se queda corto
+    private static final String RAISE_GROUP_CONCAT_LIMIT = "SET SESSION group_concat_max_len = 65535";
+
+    private static final String ARCHIVE_FLIGHTS =
+            "INSERT INTO flights_archive (id, flight_number, aircraft_id, route_id, departure_time, arrival_time, " +
+            "base_price, available_seats, booked_seats, status, first_class_booked, business_booked, " +
+            "economy_booked, booked_seat_numbers, created_at, archived_at) " +
+            "SELECT f.id, f.flight_number, f.aircraft_id, f.route_id, f.departure_time, f.arrival_time, " +
+            "f.base_price, f.available_seats, f.booked_seats, f.status, " +
+            "COALESCE(SUM(s.status <> 'AVAILABLE' AND s.seat_class = 'FIRST_CLASS'), 0), " +
+            "COALESCE(SUM(s.status <> 'AVAILABLE' AND s.seat_class = 'BUSINESS'), 0), " +
+            "COALESCE(SUM(s.status <> 'AVAILABLE' AND s.seat_class = 'ECONOMY'), 0), " +
+            "GROUP_CONCAT(CASE WHEN s.status <> 'AVAILABLE' THEN s.seat_number END ORDER BY s.seat_number SEPARATOR ','), " +
+            "f.created_at, ? " +
+            "FROM flights f LEFT JOIN seats s ON s.flight_id = f.id " +
+            "WHERE f.id IN (%s) GROUP BY f.id";
+
+    private static final String DELETE_SEATS = "DELETE FROM seats WHERE flight_id IN (%s)";
+
+    private static final String DELETE_FLIGHTS = "DELETE FROM flights WHERE id IN (%s)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public int archiveFlights(List<UUID> flightIds, LocalDateTime archivedAt) {
+        if (flightIds.isEmpty()) {
+            return 0;
+        }
+
+        String placeholders = String.join(",", Collections.nCopies(flightIds.size(), "?"));
+        List<Object> ids = new ArrayList<>(flightIds.size());
+        flightIds.forEach(id -> ids.add(id.toString()));
+
+        List<Object> archiveArgs = new ArrayList<>(ids.size() + 1);
+        archiveArgs.add(Timestamp.valueOf(archivedAt));
+        archiveArgs.addAll(ids);
+
+        jdbcTemplate.execute(RAISE_GROUP_CONCAT_LIMIT);
+        jdbcTemplate.update(String.format(ARCHIVE_FLIGHTS, placeholders), archiveArgs.toArray());
+        jdbcTemplate.update(String.format(DELETE_SEATS, placeholders), ids.toArray());
+        return jdbcTemplate.update(String.format(DELETE_FLIGHTS, placeholders), ids.toArray());
+    }
+}
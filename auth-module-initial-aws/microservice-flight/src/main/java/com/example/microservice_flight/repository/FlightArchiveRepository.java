@@ -0,0 +1,9 @@
+package com.example.microservice_flight.repository;
+
+import com.example.microservice_flight.model.FlightArchiveEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.UUID;
+
+public interface FlightArchiveRepository extends JpaRepository<FlightArchiveEntity, UUID> {
+}
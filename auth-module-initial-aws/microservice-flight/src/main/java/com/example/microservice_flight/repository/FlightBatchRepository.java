@@ -0,0 +1,49 @@
+package com.example.microservice_flight.repository;
+
+import com.example.microservice_flight.dto.FlightDto;
+import com.example.microservice_flight.model.FlightStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Inserción masiva de vuelos por JDBC batch para la importación de temporadas.
+ */
+@RequiredArgsConstructor
+@Repository
+public class FlightBatchRepository {
+
+    private static final String INSERT_FLIGHT =
+            "INSERT INTO flights (id, flight_number, aircraft_id, route_id, departure_time, arrival_time, " +
+            "base_price, available_seats, booked_seats, status, seats_materialized, created_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, 0, ?, ?, ?)";
+
+    private static final int BATCH_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Los vuelos llegan con id ya asignado y availableSeats igual a la capacidad del avión
+    public int insertFlights(List<FlightDto> flights, boolean seatsMaterialized) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        jdbcTemplate.batchUpdate(INSERT_FLIGHT, flights, BATCH_SIZE, (ps, flight) -> {
+            ps.setString(1, flight.getId().toString());
+            ps.setString(2, flight.getFlightNumber());
+            ps.setString(3, flight.getAircraftId().toString());
+            ps.setString(4, flight.getRouteId().toString());
+            ps.setTimestamp(5, Timestamp.valueOf(flight.getDepartureTime()));
+            ps.setTimestamp(6, Timestamp.valueOf(flight.getArrivalTime()));
+            ps.setBigDecimal(7, flight.getBasePrice());
+            ps.setInt(8, flight.getAvailableSeats());
+            ps.setString(9, FlightStatus.SCHEDULED.name());
+            ps.setBoolean(10, seatsMaterialized);
+            ps.setTimestamp(11, now);
+        });
+
+        return flights.size();
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.microservice_flight.repository;
+
+import com.example.microservice_flight.model.FlightStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Acceso JDBC a la tabla flight_outbox: una inserción por cambio en el camino caliente de
+ * reservas y lecturas con bloqueo para el relay, sin pasar por el contexto de persistencia.
+ */
+@RequiredArgsConstructor
+@Repository
+public class FlightOutboxRepository {
+
+    private static final String INSERT_EVENT =
+            "INSERT INTO flight_outbox (event_type, flight_id, payload, created_at) VALUES (?, ?, ?, ?)";
+
+    // SKIP LOCKED: varias instancias pueden ejecutar el relay sin publicar dos veces la misma fila
+    private static final String LOCK_PENDING =
+            "SELECT id, event_type, flight_id, payload FROM flight_outbox " +
+            "WHERE published_at IS NULL ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED";
+
+    private static final String MARK_PUBLISHED = "UPDATE flight_outbox SET published_at = ? WHERE id IN (%s)";
+
+    private static final String FIND_OCCUPANCY =
+            "SELECT id, available_seats, booked_seats, status FROM flights WHERE id IN (%s)";
+
+    private static final String DELETE_PUBLISHED =
+            "DELETE FROM flight_outbox WHERE published_at IS NOT NULL AND published_at < ? LIMIT ?";
+
+    private static final int BATCH_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void insert(String eventType, UUID flightId, String payload) {
+        jdbcTemplate.update(INSERT_EVENT, eventType, flightId.toString(), payload,
+                Timestamp.valueOf(LocalDateTime.now()));
+    }
+
+    // Una fila por vuelo en lotes JDBC: para importaciones y expansiones que crean muchos vuelos a la vez
+    public void insertAll(String eventType, Map<UUID, String> payloadsByFlight) {
+        if (payloadsByFlight.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_EVENT, payloadsByFlight.entrySet(), BATCH_SIZE, (ps, event) -> {
+            ps.setString(1, eventType);
+            ps.setString(2, event.getKey().toString());
+            ps.setString(3, event.getValue());
+            ps.setTimestamp(4, now);
+        });
+    }
+
+    public List<PendingEvent> lockPending(int limit) {
+        return jdbcTemplate.query(LOCK_PENDING, (rs, rowNum) -> new PendingEvent(
+                rs.getLong("id"),
+                rs.getString("event_type"),
+                UUID.fromString(rs.getString("flight_id")),
+                rs.getString("payload")
+        ), limit);
+    }
+
+    public void markPublished(Collection<Long> ids, LocalDateTime publishedAt) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        List<Object> args = new ArrayList<>(ids.size() + 1);
+        args.add(Timestamp.valueOf(publishedAt));
+        args.addAll(ids);
+        jdbcTemplate.update(String.format(MARK_PUBLISHED, placeholders(ids.size())), args.toArray());
+    }
+
+    public List<FlightOccupancy> findOccupancy(Collection<UUID> flightIds) {
+        if (flightIds.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.query(String.format(FIND_OCCUPANCY, placeholders(flightIds.size())),
+                (rs, rowNum) -> new FlightOccupancy(
+                        UUID.fromString(rs.getString("id")),
+                        rs.getInt("available_seats"),
+                        rs.getInt("booked_seats"),
+                        FlightStatus.valueOf(rs.getString("status"))
+                ),
+                flightIds.stream().map(UUID::toString).toArray());
+    }
+
+    public int deletePublishedBefore(LocalDateTime cutoff, int limit) {
+        return jdbcTemplate.update(DELETE_PUBLISHED, Timestamp.valueOf(cutoff), limit);
+    }
+
+    private static String placeholders(int count) {
+        return String.join(",", Collections.nCopies(count, "?"));
+    }
+
+    public record PendingEvent(long id, String eventType, UUID flightId, String payload) {
+    }
+
+    public record FlightOccupancy(UUID flightId, int availableSeats, int bookedSeats, FlightStatus status) {
+    }
+}
@@ -1,21 +1,50 @@
 package com.example.microservice_flight.repository;
 
+import com.example.microservice_flight.model.AircraftEntity;
+import com.example.microservice_flight.model.AircraftStatus;
 import com.example.microservice_flight.model.FlightEntity;
 import com.example.microservice_flight.model.FlightStatus;
+import com.example.microservice_flight.model.RouteStatus;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface FlightRepository extends JpaRepository<FlightEntity, UUID> {
-    Optional<FlightEntity> findByFlightNumber(String flightNumber);
+    boolean existsByFlightNumberAndDepartureDate(String flightNumber, LocalDate departureDate);
 
     List<FlightEntity> findByStatus(FlightStatus status);
 
+    // Claves (número, fecha) ya ocupadas en una ventana: importación y expansión de programaciones
+    @Query("SELECT f.flightNumber AS flightNumber, f.departureDate AS departureDate FROM FlightEntity f " +
+            "WHERE f.flightNumber IN :flightNumbers AND f.departureDate BETWEEN :from AND :to")
+    List<FlightKey> findFlightKeys(
+            @Param("flightNumbers") Collection<String> flightNumbers,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to
+    );
+
+    // Candidatos a archivo, en orden de salida para avanzar por el índice idx_flights_departure_id
+    @Query("SELECT f.id FROM FlightEntity f WHERE f.departureTime < :cutoff ORDER BY f.departureTime, f.id")
+    List<UUID> findIdsDepartedBefore(@Param("cutoff") LocalDateTime cutoff, Limit limit);
+
+    @Query("SELECT f.aircraft FROM FlightEntity f WHERE f.id = :flightId")
+    Optional<AircraftEntity> findAircraftByFlightId(@Param("flightId") UUID flightId);
+
+    @Query("SELECT f.seatsMaterialized FROM FlightEntity f WHERE f.id = :flightId")
+    Optional<Boolean> findSeatsMaterializedById(@Param("flightId") UUID flightId);
+
     @Query("SELECT f FROM FlightEntity f WHERE f.route.originAirport = :origin " +
             "AND f.route.destinationAirport = :destination " +
             "AND f.departureTime >= :startDate " +
@@ -28,9 +57,181 @@ public interface FlightRepository extends JpaRepository<FlightEntity, UUID> {
             @Param("endDate") LocalDateTime endDate
     );
 
+    // Vuelo + avión + ruta en una sola consulta, sin cargar entidades ni disparar lazy loads por fila
+    String FLIGHT_VIEW_SELECT = "SELECT f.id AS id, f.flightNumber AS flightNumber, " +
+            "f.departureTime AS departureTime, f.arrivalTime AS arrivalTime, f.basePrice AS basePrice, " +
+            "f.availableSeats AS availableSeats, f.bookedSeats AS bookedSeats, f.status AS status, " +
+            "a.id AS aircraftId, a.registrationNumber AS registrationNumber, a.model AS aircraftModel, " +
+            "a.manufacturer AS manufacturer, a.totalSeats AS totalSeats, a.economySeats AS economySeats, " +
+            "a.businessSeats AS businessSeats, a.firstClassSeats AS firstClassSeats, " +
+            "a.status AS aircraftStatus, a.yearManufactured AS yearManufactured, a.createdAt AS aircraftCreatedAt, " +
+            "r.id AS routeId, r.originAirport AS originAirport, r.destinationAirport AS destinationAirport, " +
+            "r.originCity AS originCity, r.destinationCity AS destinationCity, " +
+            "r.originCountry AS originCountry, r.destinationCountry AS destinationCountry, " +
+            "r.distanceKm AS distanceKm, r.estimatedDurationMinutes AS estimatedDurationMinutes, " +
+            "r.status AS routeStatus " +
+            "FROM FlightEntity f JOIN f.aircraft a JOIN f.route r ";
+
+    @Query(FLIGHT_VIEW_SELECT +
+            "WHERE r.originAirport = :origin " +
+            "AND r.destinationAirport = :destination " +
+            "AND f.departureTime >= :startDate " +
+            "AND f.departureTime <= :endDate " +
+            "AND f.status = 'SCHEDULED' " +
+            "AND f.availableSeats > 0")
+    List<FlightView> searchFlightViews(
+            @Param("origin") String origin,
+            @Param("destination") String destination,
+            @Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate
+    );
+
+    @Query(FLIGHT_VIEW_SELECT +
+            "WHERE r.originAirport = :origin " +
+            "AND r.destinationAirport = :destination " +
+            "AND f.departureTime >= :startDate " +
+            "AND f.departureTime < :endDate " +
+            "AND f.status = 'SCHEDULED' " +
+            "AND f.availableSeats > 0 " +
+            "ORDER BY f.departureTime")
+    List<FlightView> searchFlightViewsInRange(
+            @Param("origin") String origin,
+            @Param("destination") String destination,
+            @Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate
+    );
+
+    @Query(FLIGHT_VIEW_SELECT +
+            "WHERE f.departureTime >= :startDate " +
+            "AND f.departureTime < :endDate " +
+            "AND f.status = 'SCHEDULED' " +
+            "AND f.availableSeats > 0")
+    List<FlightView> findFlightViewsDepartingBetween(
+            @Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate
+    );
+
+    // Paginación por clave (departureTime, id): cada página es un range scan sobre el índice, sin OFFSET ni COUNT
+    @Query(FLIGHT_VIEW_SELECT + "ORDER BY f.departureTime, f.id")
+    List<FlightView> findFlightViewsOrdered(Limit limit);
+
+    @Query(FLIGHT_VIEW_SELECT +
+            "WHERE f.departureTime > :departureTime " +
+            "OR (f.departureTime = :departureTime AND f.id > :id) " +
+            "ORDER BY f.departureTime, f.id")
+    List<FlightView> findFlightViewsAfter(
+            @Param("departureTime") LocalDateTime departureTime,
+            @Param("id") UUID id,
+            Limit limit
+    );
+
+    @Query(FLIGHT_VIEW_SELECT + "WHERE f.status = :status")
+    List<FlightView> findFlightViewsByStatus(@Param("status") FlightStatus status);
+
+    @Query(value = FLIGHT_VIEW_SELECT,
+            countQuery = "SELECT COUNT(f) FROM FlightEntity f")
+    Page<FlightView> findAllFlightViews(Pageable pageable);
+
     @Query("SELECT f FROM FlightEntity f WHERE f.departureTime BETWEEN :start AND :end")
     List<FlightEntity> findByDepartureTimeBetween(
             @Param("start") LocalDateTime start,
             @Param("end") LocalDateTime end
     );
-}
\ No newline at end of file
+
+    // Contadores por delta: se aplican en la misma transacción que el cambio de estado del asiento
+    @Modifying
+    @Query("UPDATE FlightEntity f SET f.availableSeats = f.availableSeats - :delta, " +
+            "f.bookedSeats = f.bookedSeats + :delta " +
+            "WHERE f.id = :flightId")
+    int adjustOccupancy(@Param("flightId") UUID flightId, @Param("delta") int delta);
+
+    @Modifying
+    @Query("UPDATE FlightEntity f SET f.availableSeats = :available, f.bookedSeats = :booked WHERE f.id = :flightId")
+    int setOccupancy(
+            @Param("flightId") UUID flightId,
+            @Param("available") int available,
+            @Param("booked") int booked
+    );
+
+    // Asientos sin fila (modo perezoso) cuentan como disponibles: disponibles = asientos del layout - ocupados.
+    // La capacidad es la del layout (primera + business + turista), la misma que usan altas y reservas
+    @Query("SELECT f.id AS flightId, f.availableSeats AS availableSeats, f.bookedSeats AS bookedSeats, " +
+            "(COALESCE(a.firstClassSeats, 0) + COALESCE(a.businessSeats, 0) + COALESCE(a.economySeats, 0) - " +
+            "(SELECT COUNT(s) FROM SeatEntity s WHERE s.flight = f AND s.status <> 'AVAILABLE')) AS actualAvailable, " +
+            "(SELECT COUNT(s) FROM SeatEntity s WHERE s.flight = f AND s.status <> 'AVAILABLE') AS actualBooked " +
+            "FROM FlightEntity f JOIN f.aircraft a WHERE f.status = 'SCHEDULED' " +
+            "AND (f.bookedSeats <> (SELECT COUNT(s) FROM SeatEntity s WHERE s.flight = f AND s.status <> 'AVAILABLE') " +
+            "OR f.availableSeats + f.bookedSeats <> " +
+            "COALESCE(a.firstClassSeats, 0) + COALESCE(a.businessSeats, 0) + COALESCE(a.economySeats, 0))")
+    List<OccupancyDrift> findOccupancyDrift();
+
+    // Corrige los contadores de un vuelo en una sola sentencia y solo si siguen desviados. Dentro de un UPDATE,
+    // MySQL lee los asientos con bloqueo: una reserva sin confirmar se espera en lugar de perderse entre la
+    // lectura y la escritura. Una sola tabla en el UPDATE: las asignaciones se evalúan en orden
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE flights f SET " +
+            "f.booked_seats = (SELECT COUNT(*) FROM seats s WHERE s.flight_id = f.id AND s.status <> 'AVAILABLE'), " +
+            "f.available_seats = (SELECT COALESCE(a.first_class_seats, 0) + COALESCE(a.business_seats, 0) " +
+            "+ COALESCE(a.economy_seats, 0) FROM aircraft a WHERE a.id = f.aircraft_id) - f.booked_seats " +
+            "WHERE f.id = :flightId AND f.status = 'SCHEDULED' " +
+            "AND (f.booked_seats <> (SELECT COUNT(*) FROM seats s WHERE s.flight_id = f.id AND s.status <> 'AVAILABLE') " +
+            "OR f.available_seats + f.booked_seats <> (SELECT COALESCE(a.first_class_seats, 0) " +
+            "+ COALESCE(a.business_seats, 0) + COALESCE(a.economy_seats, 0) FROM aircraft a WHERE a.id = f.aircraft_id))",
+            nativeQuery = true)
+    int reconcileOccupancy(@Param("flightId") String flightId);
+
+    @Query("SELECT f.availableSeats AS availableSeats, f.bookedSeats AS bookedSeats FROM FlightEntity f WHERE f.id = :flightId")
+    Optional<Occupancy> findOccupancy(@Param("flightId") UUID flightId);
+
+    interface OccupancyDrift {
+        UUID getFlightId();
+        Integer getAvailableSeats();
+        Integer getBookedSeats();
+        Long getActualAvailable();
+        Long getActualBooked();
+    }
+
+    interface Occupancy {
+        Integer getAvailableSeats();
+        Integer getBookedSeats();
+    }
+
+    interface FlightView {
+        UUID getId();
+        String getFlightNumber();
+        LocalDateTime getDepartureTime();
+        LocalDateTime getArrivalTime();
+        BigDecimal getBasePrice();
+        Integer getAvailableSeats();
+        Integer getBookedSeats();
+        FlightStatus getStatus();
+
+        UUID getAircraftId();
+        String getRegistrationNumber();
+        String getAircraftModel();
+        String getManufacturer();
+        Integer getTotalSeats();
+        Integer getEconomySeats();
+        Integer getBusinessSeats();
+        Integer getFirstClassSeats();
+        AircraftStatus getAircraftStatus();
+        Integer getYearManufactured();
+        LocalDateTime getAircraftCreatedAt();
+
+        UUID getRouteId();
+        String getOriginAirport();
+        String getDestinationAirport();
+        String getOriginCity();
+        String getDestinationCity();
+        String getOriginCountry();
+        String getDestinationCountry();
+        Integer getDistanceKm();
+        Integer getEstimatedDurationMinutes();
+        RouteStatus getRouteStatus();
+    }
+
+    interface FlightKey {
+        String getFlightNumber();
+        LocalDate getDepartureDate();
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.microservice_flight.repository;
+
+import com.example.microservice_flight.model.FlightScheduleEntity;
+import com.example.microservice_flight.model.ScheduleStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+public interface FlightScheduleRepository extends JpaRepository<FlightScheduleEntity, UUID> {
+
+    // Programaciones con fechas aún sin generar dentro del horizonte
+    @Query("SELECT s.id FROM FlightScheduleEntity s WHERE s.status = :status " +
+            "AND s.validTo >= :today AND s.validFrom <= :horizon " +
+            "AND (s.expandedUntil IS NULL OR s.expandedUntil < :horizon) " +
+            "AND (s.expandedUntil IS NULL OR s.expandedUntil < s.validTo)")
+    List<UUID> findIdsPendingExpansion(
+            @Param("status") ScheduleStatus status,
+            @Param("today") LocalDate today,
+            @Param("horizon") LocalDate horizon
+    );
+
+    @Modifying
+    @Query("UPDATE FlightScheduleEntity s SET s.expandedUntil = :expandedUntil " +
+            "WHERE s.id = :id AND (s.expandedUntil IS NULL OR s.expandedUntil < :expandedUntil)")
+    int advanceExpandedUntil(@Param("id") UUID id, @Param("expandedUntil") LocalDate expandedUntil);
+}
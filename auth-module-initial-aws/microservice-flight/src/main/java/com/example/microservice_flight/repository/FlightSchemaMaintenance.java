@@ -0,0 +1,37 @@
+package com.example.microservice_flight.repository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * ddl-auto=update crea índices pero nunca los borra. Las bases creadas cuando flight_number era
+ * único por sí solo conservan ese índice e impedirían operar el mismo número en varias fechas.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class FlightSchemaMaintenance {
+
+    private static final String LEGACY_UNIQUE_INDEXES =
+            "SELECT index_name FROM information_schema.statistics " +
+            "WHERE table_schema = DATABASE() AND table_name = 'flights' AND non_unique = 0 " +
+            "AND index_name <> 'PRIMARY' " +
+            "GROUP BY index_name HAVING COUNT(*) = 1 AND MAX(column_name) = 'flight_number'";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void dropLegacyFlightNumberIndex() {
+        List<String> indexes = jdbcTemplate.queryForList(LEGACY_UNIQUE_INDEXES, String.class);
+        for (String index : indexes) {
+            log.info("Dropping legacy unique index {} on flights.flight_number", index);
+            jdbcTemplate.execute("ALTER TABLE flights DROP INDEX `" + index + "`");
+        }
+    }
+}
@@ -2,7 +2,10 @@ package com.example.microservice_flight.repository;
 
 import com.example.microservice_flight.model.RouteEntity;
 import com.example.microservice_flight.model.RouteStatus;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
@@ -17,4 +20,19 @@ public interface RouteRepository extends JpaRepository<RouteEntity, UUID> {
             String originAirport,
             String destinationAirport
     );
+
+    @Query("SELECT r FROM RouteEntity r ORDER BY r.originAirport, r.destinationAirport, r.id")
+    List<RouteEntity> findAllOrdered(Limit limit);
+
+    @Query("SELECT r FROM RouteEntity r " +
+            "WHERE r.originAirport > :origin " +
+            "OR (r.originAirport = :origin AND r.destinationAirport > :destination) " +
+            "OR (r.originAirport = :origin AND r.destinationAirport = :destination AND r.id > :id) " +
+            "ORDER BY r.originAirport, r.destinationAirport, r.id")
+    List<RouteEntity> findAfter(
+            @Param("origin") String origin,
+            @Param("destination") String destination,
+            @Param("id") UUID id,
+            Limit limit
+    );
 }
\ No newline at end of file
@@ -0,0 +1,105 @@
+package com.example.microservice_flight.repository;
+
+import com.example.microservice_flight.model.SeatStatus;
+import com.example.microservice_flight.seatmap.SeatLayout;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Inserción masiva de asientos por JDBC batch. Con rewriteBatchedStatements=true el
+ * driver de MySQL convierte cada lote en un único INSERT multi-fila.
+ */
+@RequiredArgsConstructor
+@Repository
+public class SeatBatchRepository {
+
+    private static final String INSERT_SEAT =
+            "INSERT INTO seats (id, flight_id, seat_number, seat_class, status, created_at, version) " +
+            "VALUES (?, ?, ?, ?, ?, ?, 0)";
+
+    private static final String INSERT_RESERVED_SEAT =
+            "INSERT INTO seats (id, flight_id, seat_number, seat_class, status, " +
+            "reserved_by_booking_id, reserved_at, hold_expires_at, created_at, version) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, 0)";
+
+    private static final int BATCH_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public int insertSeats(UUID flightId, SeatLayout layout) {
+        List<Integer> ordinals = new ArrayList<>(layout.size());
+        for (int ordinal = 0; ordinal < layout.size(); ordinal++) {
+            ordinals.add(ordinal);
+        }
+
+        String flight = flightId.toString();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        jdbcTemplate.batchUpdate(INSERT_SEAT, ordinals, BATCH_SIZE, (ps, ordinal) -> {
+            ps.setString(1, UUID.randomUUID().toString());
+            ps.setString(2, flight);
+            ps.setString(3, layout.seatNumber(ordinal));
+            ps.setString(4, layout.seatClass(ordinal).name());
+            ps.setString(5, SeatStatus.AVAILABLE.name());
+            ps.setTimestamp(6, now);
+        });
+
+        return ordinals.size();
+    }
+
+    // Importación masiva: los asientos de varios vuelos comparten lotes en lugar de un lote por vuelo
+    public int insertSeats(Map<UUID, SeatLayout> layoutsByFlight) {
+        List<SeatRow> rows = new ArrayList<>();
+        layoutsByFlight.forEach((flightId, layout) -> {
+            String flight = flightId.toString();
+            for (int ordinal = 0; ordinal < layout.size(); ordinal++) {
+                rows.add(new SeatRow(flight, layout, ordinal));
+            }
+        });
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        jdbcTemplate.batchUpdate(INSERT_SEAT, rows, BATCH_SIZE, (ps, row) -> {
+            ps.setString(1, UUID.randomUUID().toString());
+            ps.setString(2, row.flightId());
+            ps.setString(3, row.layout().seatNumber(row.ordinal()));
+            ps.setString(4, row.layout().seatClass(row.ordinal()).name());
+            ps.setString(5, SeatStatus.AVAILABLE.name());
+            ps.setTimestamp(6, now);
+        });
+
+        return rows.size();
+    }
+
+    // Modo perezoso: la fila del asiento se crea en el momento de reservarlo
+    public void insertReservedSeats(UUID flightId, SeatLayout layout, List<String> seatNumbers,
+                                    UUID bookingId, LocalDateTime reservedAt, LocalDateTime holdExpiresAt) {
+        String flight = flightId.toString();
+        String booking = bookingId.toString();
+        Timestamp reserved = Timestamp.valueOf(reservedAt);
+        Timestamp expires = Timestamp.valueOf(holdExpiresAt);
+
+        jdbcTemplate.batchUpdate(INSERT_RESERVED_SEAT, seatNumbers, BATCH_SIZE, (ps, seatNumber) -> {
+            ps.setString(1, UUID.randomUUID().toString());
+            ps.setString(2, flight);
+            ps.setString(3, seatNumber);
+            ps.setString(4, layout.seatClass(layout.ordinalOf(seatNumber)).name());
+            ps.setString(5, SeatStatus.RESERVED.name());
+            ps.setString(6, booking);
+            ps.setTimestamp(7, reserved);
+            ps.setTimestamp(8, expires);
+            ps.setTimestamp(9, reserved);
+        });
+    }
+
+    private record SeatRow(String flightId, SeatLayout layout, int ordinal) {
+    }
+}
@@ -3,9 +3,12 @@ package com.example.microservice_flight.repository;
 import com.example.microservice_flight.model.SeatEntity;
 import com.example.microservice_flight.model.SeatStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -17,6 +20,130 @@ public interface SeatRepository extends JpaRepository<SeatEntity, UUID> {
 
     Optional<SeatEntity> findByFlightIdAndSeatNumber(UUID flightId, String seatNumber);
 
+    boolean existsByFlightId(UUID flightId);
+
+    boolean existsByFlightIdAndSeatNumber(UUID flightId, String seatNumber);
+
+    @Query("SELECT s.seatNumber FROM SeatEntity s WHERE s.flight.id = :flightId AND s.status <> :status")
+    List<String> findSeatNumbersByFlightIdAndStatusNot(
+            @Param("flightId") UUID flightId,
+            @Param("status") SeatStatus status
+    );
+
     @Query("SELECT COUNT(s) FROM SeatEntity s WHERE s.flight.id = :flightId AND s.status = 'AVAILABLE'")
     Integer countAvailableSeats(@Param("flightId") UUID flightId);
-}
\ No newline at end of file
+
+    @Query("SELECT COUNT(s) FROM SeatEntity s WHERE s.flight.id = :flightId AND s.status <> 'AVAILABLE'")
+    int countHeldSeats(@Param("flightId") UUID flightId);
+
+    @Query("SELECT s.seatNumber FROM SeatEntity s WHERE s.flight.id = :flightId AND s.seatNumber IN :seatNumbers")
+    List<String> findExistingSeatNumbers(
+            @Param("flightId") UUID flightId,
+            @Param("seatNumbers") Collection<String> seatNumbers
+    );
+
+    // Reserva condicional: solo gana si el asiento sigue AVAILABLE (1 = reservado, 0 = ya tomado o inexistente)
+    @Modifying
+    @Query("UPDATE SeatEntity s SET s.status = com.example.microservice_flight.model.SeatStatus.RESERVED, " +
+            "s.reservedByBookingId = :bookingId, " +
+            "s.reservedAt = :reservedAt, " +
+            "s.holdExpiresAt = :holdExpiresAt, " +
+            "s.version = s.version + 1 " +
+            "WHERE s.flight.id = :flightId " +
+            "AND s.seatNumber = :seatNumber " +
+            "AND s.status = com.example.microservice_flight.model.SeatStatus.AVAILABLE")
+    int reserveIfAvailable(
+            @Param("flightId") UUID flightId,
+            @Param("seatNumber") String seatNumber,
+            @Param("bookingId") UUID bookingId,
+            @Param("reservedAt") LocalDateTime reservedAt,
+            @Param("holdExpiresAt") LocalDateTime holdExpiresAt
+    );
+
+    @Modifying
+    @Query("UPDATE SeatEntity s SET s.status = com.example.microservice_flight.model.SeatStatus.RESERVED, " +
+            "s.reservedByBookingId = :bookingId, " +
+            "s.reservedAt = :reservedAt, " +
+            "s.holdExpiresAt = :holdExpiresAt, " +
+            "s.version = s.version + 1 " +
+            "WHERE s.flight.id = :flightId " +
+            "AND s.seatNumber IN :seatNumbers " +
+            "AND s.status = com.example.microservice_flight.model.SeatStatus.AVAILABLE")
+    int reserveAllIfAvailable(
+            @Param("flightId") UUID flightId,
+            @Param("seatNumbers") Collection<String> seatNumbers,
+            @Param("bookingId") UUID bookingId,
+            @Param("reservedAt") LocalDateTime reservedAt,
+            @Param("holdExpiresAt") LocalDateTime holdExpiresAt
+    );
+
+    @Modifying
+    @Query("UPDATE SeatEntity s SET s.status = com.example.microservice_flight.model.SeatStatus.AVAILABLE, " +
+            "s.reservedByBookingId = NULL, " +
+            "s.reservedAt = NULL, " +
+            "s.holdExpiresAt = NULL, " +
+            "s.version = s.version + 1 " +
+            "WHERE s.flight.id = :flightId " +
+            "AND s.seatNumber = :seatNumber " +
+            "AND s.reservedByBookingId = :bookingId " +
+            "AND s.status <> com.example.microservice_flight.model.SeatStatus.AVAILABLE")
+    int releaseIfHeld(
+            @Param("flightId") UUID flightId,
+            @Param("seatNumber") String seatNumber,
+            @Param("bookingId") UUID bookingId
+    );
+
+    // Solo libera holds que siguen RESERVED y vencidos: no toca asientos confirmados ni re-reservados
+    @Modifying
+    @Query("UPDATE SeatEntity s SET s.status = com.example.microservice_flight.model.SeatStatus.AVAILABLE, " +
+            "s.reservedByBookingId = NULL, " +
+            "s.reservedAt = NULL, " +
+            "s.holdExpiresAt = NULL, " +
+            "s.version = s.version + 1 " +
+            "WHERE s.flight.id = :flightId " +
+            "AND s.seatNumber IN :seatNumbers " +
+            "AND s.status = com.example.microservice_flight.model.SeatStatus.RESERVED " +
+            "AND s.holdExpiresAt <= :now")
+    int releaseExpiredHolds(
+            @Param("flightId") UUID flightId,
+            @Param("seatNumbers") Collection<String> seatNumbers,
+            @Param("now") LocalDateTime now
+    );
+
+    @Modifying
+    @Query("UPDATE SeatEntity s SET s.status = com.example.microservice_flight.model.SeatStatus.OCCUPIED, " +
+            "s.holdExpiresAt = NULL, " +
+            "s.version = s.version + 1 " +
+            "WHERE s.flight.id = :flightId " +
+            "AND s.reservedByBookingId = :bookingId " +
+            "AND s.status = com.example.microservice_flight.model.SeatStatus.RESERVED")
+    int confirmHeldSeats(
+            @Param("flightId") UUID flightId,
+            @Param("bookingId") UUID bookingId
+    );
+
+    // Holds anteriores a la columna hold_expires_at: vencen un lease después de reservarse
+    @Modifying
+    @Query(value = "UPDATE seats SET hold_expires_at = DATE_ADD(COALESCE(reserved_at, :now), INTERVAL :leaseMinutes MINUTE), " +
+            "version = version + 1 " +
+            "WHERE status = 'RESERVED' AND hold_expires_at IS NULL",
+            nativeQuery = true)
+    int backfillHoldExpiry(
+            @Param("now") LocalDateTime now,
+            @Param("leaseMinutes") long leaseMinutes
+    );
+
+    @Query("SELECT s.flight.id AS flightId, s.seatNumber AS seatNumber, s.holdExpiresAt AS holdExpiresAt " +
+            "FROM SeatEntity s WHERE s.status = 'RESERVED' AND s.holdExpiresAt IS NOT NULL")
+    List<SeatHold> findActiveHolds();
+
+    @Query("SELECT s.flight.id AS flightId, s.seatNumber AS seatNumber, s.holdExpiresAt AS holdExpiresAt " +
+            "FROM SeatEntity s WHERE s.status = 'RESERVED' AND s.holdExpiresAt <= :now")
+    List<SeatHold> findExpiredHolds(@Param("now") LocalDateTime now);
+
+    interface SeatHold {
+        UUID getFlightId();
+        String getSeatNumber();
+        LocalDateTime getHoldExpiresAt();
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.microservice_flight.reservation;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Rueda de temporización (hashed timer wheel) con el vencimiento de los holds de asientos.
+ * Programar un hold es O(1) y cada tick solo revisa las casillas transcurridas, en lugar de
+ * consultar la tabla de asientos entera. Los holds con vencimiento a más de una vuelta de
+ * distancia permanecen en su casilla hasta que su plazo se cumple.
+ * La rueda vive en memoria: se reconstruye desde la base de datos al arrancar y la
+ * liberación siempre se valida contra hold_expires_at, así que una entrada obsoleta no libera nada.
+ */
+@Component
+public class SeatHoldTimerWheel {
+
+    private final long tickMillis;
+    private final ConcurrentLinkedQueue<Hold>[] buckets;
+    private final AtomicInteger pending = new AtomicInteger();
+    private long lastTick;
+
+    @SuppressWarnings("unchecked")
+    public SeatHoldTimerWheel(
+            MeterRegistry meterRegistry,
+            @Value("${flight.seats.hold-tick-ms:1000}") long tickMillis,
+            @Value("${flight.seats.hold-wheel-size:512}") int wheelSize) {
+        this.tickMillis = tickMillis;
+        this.buckets = new ConcurrentLinkedQueue[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            buckets[i] = new ConcurrentLinkedQueue<>();
+        }
+        this.lastTick = System.currentTimeMillis() / tickMillis;
+
+        Gauge.builder("flight.seat.holds.pending", pending, AtomicInteger::get)
+                .description("Seat holds waiting for expiry in the timer wheel")
+                .register(meterRegistry);
+    }
+
+    public void schedule(UUID flightId, Collection<String> seatNumbers, long deadlineMillis) {
+        // Casilla del tick en el que el plazo ya se cumplió (redondeo hacia arriba): si se usara la del tick que lo
+        // contiene, al recorrerla antes del milisegundo exacto el hold esperaría una vuelta completa.
+        // Por lo mismo nunca va a la casilla actual, que podría estar recorriéndose
+        long tick = Math.max((deadlineMillis + tickMillis - 1) / tickMillis, System.currentTimeMillis() / tickMillis + 1);
+        ConcurrentLinkedQueue<Hold> bucket = buckets[(int) Math.floorMod(tick, (long) buckets.length)];
+
+        for (String seatNumber : seatNumbers) {
+            bucket.add(new Hold(flightId, seatNumber, deadlineMillis));
+            pending.incrementAndGet();
+        }
+    }
+
+    /**
+     * Avanza la rueda hasta {@code nowMillis} y devuelve los holds vencidos en las casillas recorridas.
+     */
+    public synchronized List<Hold> advance(long nowMillis) {
+        long currentTick = nowMillis / tickMillis;
+        // Tras una pausa larga basta con una vuelta: cada casilla se revisa por plazo, no por posición
+        long steps = Math.min(currentTick - lastTick, buckets.length);
+
+        List<Hold> expired = new ArrayList<>();
+        for (long tick = currentTick - steps + 1; tick <= currentTick; tick++) {
+            Iterator<Hold> it = buckets[(int) Math.floorMod(tick, (long) buckets.length)].iterator();
+            while (it.hasNext()) {
+                Hold hold = it.next();
+                if (hold.deadlineMillis() <= nowMillis) {
+                    it.remove();
+                    pending.decrementAndGet();
+                    expired.add(hold);
+                }
+            }
+        }
+
+        lastTick = Math.max(lastTick, currentTick);
+        return expired;
+    }
+
+    public int pendingCount() {
+        return pending.get();
+    }
+
+    public record Hold(UUID flightId, String seatNumber, long deadlineMillis) {
+    }
+}
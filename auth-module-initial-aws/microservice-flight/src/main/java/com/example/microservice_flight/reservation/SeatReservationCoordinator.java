@@ -0,0 +1,92 @@
+package com.example.microservice_flight.reservation;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Serializa en proceso las mutaciones de asientos de un mismo vuelo mediante lock striping:
+ * cada vuelo cae en un carril fijo y los vuelos de carriles distintos avanzan en paralelo.
+ * El lock se toma fuera de la transacción, así cada escritor confirma antes de que entre el
+ * siguiente y las esperas por bloqueo de filas en la base de datos dejan de ser el límite.
+ */
+@Slf4j
+@Component
+public class SeatReservationCoordinator {
+
+    private final Lane[] lanes;
+    private final long lockTimeoutMillis;
+
+    public SeatReservationCoordinator(
+            MeterRegistry meterRegistry,
+            @Value("${flight.reservation.lanes:64}") int laneCount,
+            @Value("${flight.reservation.lock-timeout-ms:5000}") long lockTimeoutMillis) {
+        this.lockTimeoutMillis = lockTimeoutMillis;
+        this.lanes = new Lane[laneCount];
+        for (int i = 0; i < laneCount; i++) {
+            lanes[i] = new Lane(meterRegistry, String.valueOf(i));
+        }
+    }
+
+    public <T> T execute(UUID flightId, Supplier<T> action) {
+        Lane lane = lanes[Math.floorMod(flightId.hashCode(), lanes.length)];
+
+        long start = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = lane.lock.tryLock(lockTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for seat reservation lane");
+        }
+        lane.waitTime.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+        if (!acquired) {
+            lane.timeouts.increment();
+            log.warn("Timed out waiting for reservation lane of flight {}", flightId);
+            throw new IllegalStateException("Too many concurrent seat reservations for flight " + flightId);
+        }
+
+        try {
+            return action.get();
+        } finally {
+            lane.lock.unlock();
+        }
+    }
+
+    public void run(UUID flightId, Runnable action) {
+        execute(flightId, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    private static final class Lane {
+        private final ReentrantLock lock = new ReentrantLock(true);
+        private final Timer waitTime;
+        private final Counter timeouts;
+
+        Lane(MeterRegistry registry, String lane) {
+            Gauge.builder("flight.reservation.lane.queue", lock, ReentrantLock::getQueueLength)
+                    .description("Threads waiting for the seat reservation lane")
+                    .tag("lane", lane)
+                    .register(registry);
+            this.waitTime = Timer.builder("flight.reservation.lane.wait")
+                    .description("Time spent waiting for the seat reservation lane")
+                    .tag("lane", lane)
+                    .register(registry);
+            this.timeouts = Counter.builder("flight.reservation.lane.timeouts")
+                    .tag("lane", lane)
+                    .register(registry);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.microservice_flight.scheduler;
+
+import com.example.microservice_flight.service.FlightArchiveService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class FlightArchiveScheduler {
+
+    private final FlightArchiveService flightArchiveService;
+
+    // Saca de flights y seats los vuelos salidos hace más de N días
+    @Scheduled(fixedDelayString = "${flight.archive.interval-ms:3600000}")
+    public void archiveDepartedFlights() {
+        log.debug("Archiving departed flights...");
+        flightArchiveService.archiveDepartedFlights();
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.microservice_flight.scheduler;
+
+import com.example.microservice_flight.service.FlightScheduleService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class FlightScheduleExpansionScheduler {
+
+    private final FlightScheduleService flightScheduleService;
+
+    // Mantiene generados los vuelos de las programaciones activas N días hacia adelante
+    @Scheduled(fixedDelayString = "${flight.schedules.expansion-interval-ms:3600000}")
+    public void expandSchedules() {
+        log.debug("Expanding recurring flight schedules...");
+        flightScheduleService.expandSchedules();
+    }
+}
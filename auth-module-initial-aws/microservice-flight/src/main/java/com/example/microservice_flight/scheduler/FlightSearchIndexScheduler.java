@@ -0,0 +1,30 @@
+package com.example.microservice_flight.scheduler;
+
+import com.example.microservice_flight.service.FlightService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class FlightSearchIndexScheduler {
+
+    private final FlightService flightService;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadIndex() {
+        flightService.rebuildSearchIndex();
+    }
+
+    // Recoge cambios hechos por otras instancias o en aviones y rutas, que no se aplican de forma incremental
+    @Scheduled(fixedDelayString = "${flight.search-index.refresh-interval-ms:600000}",
+            initialDelayString = "${flight.search-index.refresh-interval-ms:600000}")
+    public void refreshIndex() {
+        log.debug("Refreshing flight search index...");
+        flightService.rebuildSearchIndex();
+    }
+}
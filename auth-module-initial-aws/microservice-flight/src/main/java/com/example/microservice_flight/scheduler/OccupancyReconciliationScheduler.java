@@ -0,0 +1,44 @@
+package com.example.microservice_flight.scheduler;
+
+import com.example.microservice_flight.reservation.SeatReservationCoordinator;
+import com.example.microservice_flight.service.FlightService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.UUID;
+
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class OccupancyReconciliationScheduler {
+
+    private final FlightService flightService;
+    private final SeatReservationCoordinator reservationCoordinator;
+
+    // Corrige cualquier desviación entre los contadores del vuelo y la tabla de asientos
+    @Scheduled(fixedDelayString = "${flight.occupancy.reconciliation-interval-ms:300000}")
+    public void reconcileOccupancy() {
+        log.debug("Reconciling flight occupancy counters...");
+        List<UUID> drifted = flightService.findOccupancyDrift();
+
+        int repaired = 0;
+        for (UUID flightId : drifted) {
+            try {
+                // En el carril del vuelo, como las reservas: ninguna confirma a mitad de la corrección
+                if (reservationCoordinator.execute(flightId, () -> flightService.reconcileOccupancy(flightId))) {
+                    repaired++;
+                }
+            } catch (Exception e) {
+                // El vuelo sigue desviado y se volverá a intentar en la siguiente pasada
+                log.error("Error reconciling occupancy for flight {}: {}", flightId, e.getMessage());
+            }
+        }
+
+        if (repaired > 0) {
+            log.info("Repaired occupancy counters for {} flights", repaired);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.microservice_flight.scheduler;
+
+import com.example.microservice_flight.reservation.SeatHoldTimerWheel;
+import com.example.microservice_flight.reservation.SeatReservationCoordinator;
+import com.example.microservice_flight.service.FlightService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class SeatHoldExpiryScheduler {
+
+    private final FlightService flightService;
+    private final SeatHoldTimerWheel seatHoldTimerWheel;
+    private final SeatReservationCoordinator reservationCoordinator;
+
+    // La rueda vive en memoria: al arrancar se vuelve a llenar con los holds vigentes
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildTimerWheel() {
+        // Sin vencimiento, los RESERVED antiguos no los vería ni la rueda ni el barrido
+        flightService.backfillHoldExpiry();
+        int scheduled = flightService.scheduleActiveHolds();
+        log.info("Seat hold timer wheel rebuilt with {} active holds", scheduled);
+    }
+
+    @Scheduled(fixedDelayString = "${flight.seats.hold-tick-ms:1000}")
+    public void expireHolds() {
+        List<SeatHoldTimerWheel.Hold> expired = seatHoldTimerWheel.advance(System.currentTimeMillis());
+        if (expired.isEmpty()) {
+            return;
+        }
+
+        // Un lote por vuelo en lugar de una liberación por asiento
+        Map<UUID, Set<String>> byFlight = new LinkedHashMap<>();
+        for (SeatHoldTimerWheel.Hold hold : expired) {
+            byFlight.computeIfAbsent(hold.flightId(), id -> new LinkedHashSet<>()).add(hold.seatNumber());
+        }
+        byFlight.forEach(this::release);
+    }
+
+    // Red de seguridad para holds creados por otras instancias o perdidos en un reinicio
+    @Scheduled(fixedDelayString = "${flight.seats.hold-sweep-interval-ms:60000}")
+    public void sweepExpiredHolds() {
+        flightService.findExpiredHolds().forEach(this::release);
+    }
+
+    private void release(UUID flightId, Collection<String> seatNumbers) {
+        try {
+            reservationCoordinator.run(flightId, () -> flightService.releaseExpiredHolds(flightId, seatNumbers));
+        } catch (Exception e) {
+            // Los holds siguen vencidos en la base de datos y el barrido periódico los recogerá
+            log.error("Error releasing expired seat holds for flight {}: {}", flightId, e.getMessage());
+        }
+    }
+}
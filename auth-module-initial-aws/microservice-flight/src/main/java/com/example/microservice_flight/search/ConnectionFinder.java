@@ -0,0 +1,157 @@
+package com.example.microservice_flight.search;
+
+import com.example.microservice_flight.dto.ConnectionItineraryDto;
+import com.example.microservice_flight.dto.FlightDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Busca itinerarios con una o dos escalas sobre el grafo de rutas.
+ * La búsqueda está acotada: solo se expanden escalas desde las que aún se alcanza el destino,
+ * y en cada conexión se toman las primeras salidas (por hora) dentro de la ventana de conexión.
+ */
+@Component
+public class ConnectionFinder {
+
+    public static final int MAX_STOPS = 2;
+
+    private final Duration minConnection;
+    private final Duration maxConnection;
+    private final int maxDeparturesPerLeg;
+    private final int maxResults;
+
+    public ConnectionFinder(
+            @Value("${flight.connections.min-connection-minutes:45}") long minConnectionMinutes,
+            @Value("${flight.connections.max-connection-minutes:720}") long maxConnectionMinutes,
+            @Value("${flight.connections.max-departures-per-leg:3}") int maxDeparturesPerLeg,
+            @Value("${flight.connections.max-results:20}") int maxResults) {
+        this.minConnection = Duration.ofMinutes(minConnectionMinutes);
+        this.maxConnection = Duration.ofMinutes(maxConnectionMinutes);
+        this.maxDeparturesPerLeg = maxDeparturesPerLeg;
+        this.maxResults = maxResults;
+    }
+
+    public List<ConnectionItineraryDto> find(RouteGraph graph, DepartureLookup departures,
+                                             String origin, String destination, LocalDate date, int maxStops) {
+        if (maxStops < 1 || maxStops > MAX_STOPS) {
+            throw new IllegalArgumentException("maxStops must be between 1 and " + MAX_STOPS);
+        }
+
+        // Escalas útiles: aeropuertos desde los que el destino queda a los tramos que faltan
+        Set<String> oneLegAway = graph.airportsReaching(destination, 1);
+        Set<String> twoLegsAway = maxStops >= 2 ? graph.airportsReaching(destination, 2) : Set.of();
+
+        List<ConnectionItineraryDto> itineraries = new ArrayList<>();
+        for (String hub : graph.destinationsFrom(origin)) {
+            if (hub.equals(destination) || (!oneLegAway.contains(hub) && !twoLegsAway.contains(hub))) {
+                continue;
+            }
+            for (FlightDto first : departures.departures(origin, hub, date)) {
+                List<FlightDto> legs = new ArrayList<>(MAX_STOPS + 1);
+                legs.add(first);
+                expand(graph, departures, origin, destination, hub, legs, maxStops, oneLegAway, itineraries);
+            }
+        }
+
+        itineraries.sort(Comparator.comparing(ConnectionItineraryDto::getArrivalTime)
+                .thenComparing(ConnectionItineraryDto::getTotalDurationMinutes));
+        return itineraries.size() > maxResults ? new ArrayList<>(itineraries.subList(0, maxResults)) : itineraries;
+    }
+
+    private void expand(RouteGraph graph, DepartureLookup departures, String origin, String destination,
+                        String at, List<FlightDto> legs, int maxStops, Set<String> oneLegAway,
+                        List<ConnectionItineraryDto> itineraries) {
+        int stops = legs.size();
+        LocalDateTime arrival = legs.get(legs.size() - 1).getArrivalTime();
+        LocalDateTime earliest = arrival.plus(minConnection);
+        LocalDateTime latest = arrival.plus(maxConnection);
+
+        for (String next : graph.destinationsFrom(at)) {
+            boolean arrives = next.equals(destination);
+            boolean canContinue = stops < maxStops && oneLegAway.contains(next)
+                    && !next.equals(origin) && !visits(legs, next);
+            if (!arrives && !canContinue) {
+                continue;
+            }
+
+            for (FlightDto flight : connectingDepartures(departures, at, next, earliest, latest)) {
+                legs.add(flight);
+                if (arrives) {
+                    itineraries.add(toItinerary(legs));
+                } else {
+                    expand(graph, departures, origin, destination, next, legs, maxStops, oneLegAway, itineraries);
+                }
+                legs.remove(legs.size() - 1);
+            }
+        }
+    }
+
+    // Salidas ordenadas por hora: se corta en cuanto se pasa la ventana o se llega al tope por tramo
+    private List<FlightDto> connectingDepartures(DepartureLookup departures, String from, String to,
+                                                 LocalDateTime earliest, LocalDateTime latest) {
+        List<FlightDto> selected = new ArrayList<>(maxDeparturesPerLeg);
+        for (LocalDate day = earliest.toLocalDate(); !day.isAfter(latest.toLocalDate()); day = day.plusDays(1)) {
+            for (FlightDto flight : departures.departures(from, to, day)) {
+                if (flight.getDepartureTime().isBefore(earliest)) {
+                    continue;
+                }
+                if (flight.getDepartureTime().isAfter(latest)) {
+                    return selected;
+                }
+                selected.add(flight);
+                if (selected.size() == maxDeparturesPerLeg) {
+                    return selected;
+                }
+            }
+        }
+        return selected;
+    }
+
+    private boolean visits(List<FlightDto> legs, String airport) {
+        for (FlightDto leg : legs) {
+            if (leg.getRoute().getDestinationAirport().equals(airport)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private ConnectionItineraryDto toItinerary(List<FlightDto> legs) {
+        FlightDto first = legs.get(0);
+        FlightDto last = legs.get(legs.size() - 1);
+
+        BigDecimal totalBasePrice = BigDecimal.ZERO;
+        int availableSeats = Integer.MAX_VALUE;
+        for (FlightDto leg : legs) {
+            totalBasePrice = totalBasePrice.add(leg.getBasePrice());
+            availableSeats = Math.min(availableSeats, leg.getAvailableSeats());
+        }
+
+        return ConnectionItineraryDto.builder()
+                .legs(List.copyOf(legs))
+                .stops(legs.size() - 1)
+                .departureTime(first.getDepartureTime())
+                .arrivalTime(last.getArrivalTime())
+                .totalDurationMinutes(Duration.between(first.getDepartureTime(), last.getArrivalTime()).toMinutes())
+                .totalBasePrice(totalBasePrice)
+                .availableSeats(availableSeats)
+                .build();
+    }
+
+    /**
+     * Salidas con asientos libres en un tramo y día, ordenadas por hora de salida.
+     */
+    @FunctionalInterface
+    public interface DepartureLookup {
+        List<FlightDto> departures(String origin, String destination, LocalDate date);
+    }
+}
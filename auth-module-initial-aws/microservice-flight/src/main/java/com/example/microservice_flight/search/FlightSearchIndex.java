@@ -0,0 +1,214 @@
+package com.example.microservice_flight.search;
+
+import com.example.microservice_flight.dto.FlightDto;
+import com.example.microservice_flight.model.FlightStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+
+/**
+ * Índice en memoria de los vuelos SCHEDULED por (origen, destino, día de salida).
+ * Se carga completo al arrancar y se mantiene con cambios incrementales aplicados tras el commit;
+ * mientras no está cargado la búsqueda sigue yendo a la base de datos.
+ * Las recargas construyen mapas nuevos aparte y los publican de una vez: una búsqueda nunca ve un índice a medias.
+ */
+@Component
+public class FlightSearchIndex {
+
+    private final Object rebuildLock = new Object();
+
+    private volatile Snapshot snapshot = new Snapshot();
+    private volatile boolean loaded;
+
+    // Vuelos cambiados por deltas durante una recarga, con su estado vigente (vacío si salieron del índice)
+    private Map<UUID, Optional<FlightDto>> touchedDuringRebuild;
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    public List<FlightDto> search(String origin, String destination, LocalDate date) {
+        Map<UUID, FlightDto> flights = snapshot.flightsByRouteDay().get(new RouteDay(origin, destination, date));
+        if (flights == null) {
+            return List.of();
+        }
+        return flights.values().stream()
+                .filter(flight -> flight.getAvailableSeats() > 0)
+                .sorted(Comparator.comparing(FlightDto::getDepartureTime))
+                .collect(Collectors.toList());
+    }
+
+    public List<FlightDto> searchRange(String origin, String destination, LocalDate from, LocalDate to) {
+        List<FlightDto> flights = new ArrayList<>();
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            flights.addAll(search(origin, destination, date));
+        }
+        return flights;
+    }
+
+    /**
+     * Sustituye el contenido completo del índice con los vuelos leídos de la base de datos.
+     */
+    public void replaceAll(Collection<FlightDto> flights) {
+        rebuild(() -> flights);
+    }
+
+    /**
+     * Recarga el índice con los vuelos que devuelve el loader. Los deltas aplicados mientras se lee la base de datos
+     * son más recientes que la lectura: para esos vuelos se conserva el estado vigente en lugar de la fila leída.
+     */
+    public void rebuild(Supplier<? extends Collection<FlightDto>> loader) {
+        synchronized (rebuildLock) {
+            synchronized (this) {
+                touchedDuringRebuild = new HashMap<>();
+            }
+            try {
+                Snapshot fresh = new Snapshot();
+                loader.get().forEach(fresh::index);
+
+                synchronized (this) {
+                    touchedDuringRebuild.forEach((flightId, current) -> {
+                        fresh.remove(flightId);
+                        current.ifPresent(fresh::index);
+                    });
+                    snapshot = fresh;
+                    loaded = true;
+                }
+            } finally {
+                synchronized (this) {
+                    touchedDuringRebuild = null;
+                }
+            }
+        }
+    }
+
+    public void put(FlightDto flight) {
+        afterCommit(() -> apply(flight.getId(), current -> {
+            current.index(flight);
+            return true;
+        }));
+    }
+
+    public void evict(UUID flightId) {
+        afterCommit(() -> apply(flightId, current -> {
+            current.remove(flightId);
+            return true;
+        }));
+    }
+
+    public void adjustOccupancy(UUID flightId, int delta) {
+        afterCommit(() -> apply(flightId, current -> current.update(flightId, flight ->
+                withOccupancy(flight, flight.getAvailableSeats() - delta, flight.getBookedSeats() + delta))));
+    }
+
+    public void setOccupancy(UUID flightId, int availableSeats, int bookedSeats) {
+        afterCommit(() -> apply(flightId, current -> current.update(flightId,
+                flight -> withOccupancy(flight, availableSeats, bookedSeats))));
+    }
+
+    // Los deltas se serializan con la publicación de una recarga: ninguno cae entre la copia y el cambio de mapas.
+    // Altas y bajas siempre fijan el estado del vuelo; un cambio de ocupación sobre un vuelo ausente no cuenta
+    private synchronized void apply(UUID flightId, Function<Snapshot, Boolean> change) {
+        Snapshot current = snapshot;
+        boolean changed = change.apply(current);
+        if (changed && touchedDuringRebuild != null) {
+            touchedDuringRebuild.put(flightId, Optional.ofNullable(current.get(flightId)));
+        }
+    }
+
+    // Las entradas se tratan como inmutables: cada cambio publica una copia nueva
+    private FlightDto withOccupancy(FlightDto flight, int availableSeats, int bookedSeats) {
+        return FlightDto.builder()
+                .id(flight.getId())
+                .flightNumber(flight.getFlightNumber())
+                .aircraftId(flight.getAircraftId())
+                .routeId(flight.getRouteId())
+                .departureTime(flight.getDepartureTime())
+                .arrivalTime(flight.getArrivalTime())
+                .basePrice(flight.getBasePrice())
+                .currentPrice(flight.getCurrentPrice())
+                .availableSeats(availableSeats)
+                .bookedSeats(bookedSeats)
+                .status(flight.getStatus())
+                .occupancyRate(availableSeats == 0 ? 0.0 : (double) bookedSeats / (bookedSeats + availableSeats))
+                .aircraft(flight.getAircraft())
+                .route(flight.getRoute())
+                .build();
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private record RouteDay(String origin, String destination, LocalDate date) {
+    }
+
+    private record Snapshot(Map<RouteDay, Map<UUID, FlightDto>> flightsByRouteDay,
+                            Map<UUID, RouteDay> routeDayByFlight) {
+
+        Snapshot() {
+            this(new ConcurrentHashMap<>(), new ConcurrentHashMap<>());
+        }
+
+        FlightDto get(UUID flightId) {
+            RouteDay key = routeDayByFlight.get(flightId);
+            Map<UUID, FlightDto> flights = key != null ? flightsByRouteDay.get(key) : null;
+            return flights != null ? flights.get(flightId) : null;
+        }
+
+        void index(FlightDto flight) {
+            remove(flight.getId());
+            if (flight.getStatus() != FlightStatus.SCHEDULED || flight.getRoute() == null) {
+                return;
+            }
+
+            RouteDay key = new RouteDay(
+                    flight.getRoute().getOriginAirport(),
+                    flight.getRoute().getDestinationAirport(),
+                    flight.getDepartureTime().toLocalDate());
+            flightsByRouteDay.computeIfAbsent(key, k -> new ConcurrentHashMap<>()).put(flight.getId(), flight);
+            routeDayByFlight.put(flight.getId(), key);
+        }
+
+        void remove(UUID flightId) {
+            RouteDay key = routeDayByFlight.remove(flightId);
+            if (key == null) {
+                return;
+            }
+            flightsByRouteDay.computeIfPresent(key, (k, flights) -> {
+                flights.remove(flightId);
+                return flights.isEmpty() ? null : flights;
+            });
+        }
+
+        boolean update(UUID flightId, UnaryOperator<FlightDto> change) {
+            RouteDay key = routeDayByFlight.get(flightId);
+            Map<UUID, FlightDto> flights = key != null ? flightsByRouteDay.get(key) : null;
+            return flights != null && flights.computeIfPresent(flightId, (id, flight) -> change.apply(flight)) != null;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.microservice_flight.search;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Grafo inmutable de rutas activas: aeropuerto de origen -> aeropuertos destino.
+ * Guarda también la adyacencia inversa para podar escalas que no pueden llegar al destino.
+ */
+public final class RouteGraph {
+
+    public static final RouteGraph EMPTY = new RouteGraph(List.of());
+
+    private final Map<String, List<String>> outgoing;
+    private final Map<String, List<String>> incoming;
+    private final int routeCount;
+
+    public RouteGraph(Collection<Leg> routes) {
+        Map<String, Set<String>> out = new HashMap<>();
+        Map<String, Set<String>> in = new HashMap<>();
+        for (Leg route : routes) {
+            out.computeIfAbsent(route.origin(), a -> new LinkedHashSet<>()).add(route.destination());
+            in.computeIfAbsent(route.destination(), a -> new LinkedHashSet<>()).add(route.origin());
+        }
+        this.outgoing = freeze(out);
+        this.incoming = freeze(in);
+        this.routeCount = routes.size();
+    }
+
+    public List<String> destinationsFrom(String airport) {
+        return outgoing.getOrDefault(airport, List.of());
+    }
+
+    /**
+     * Aeropuertos desde los que se llega a {@code destination} en como mucho {@code hops} tramos.
+     */
+    public Set<String> airportsReaching(String destination, int hops) {
+        Set<String> reached = new HashSet<>();
+        Set<String> frontier = Set.of(destination);
+        for (int hop = 0; hop < hops && !frontier.isEmpty(); hop++) {
+            Set<String> next = new HashSet<>();
+            for (String airport : frontier) {
+                for (String origin : incoming.getOrDefault(airport, List.of())) {
+                    if (reached.add(origin)) {
+                        next.add(origin);
+                    }
+                }
+            }
+            frontier = next;
+        }
+        return reached;
+    }
+
+    public int routeCount() {
+        return routeCount;
+    }
+
+    private static Map<String, List<String>> freeze(Map<String, Set<String>> adjacency) {
+        Map<String, List<String>> frozen = new HashMap<>(adjacency.size() * 2);
+        adjacency.forEach((airport, neighbours) -> frozen.put(airport, List.copyOf(new ArrayList<>(neighbours))));
+        return Map.copyOf(frozen);
+    }
+
+    public record Leg(String origin, String destination) {
+    }
+}
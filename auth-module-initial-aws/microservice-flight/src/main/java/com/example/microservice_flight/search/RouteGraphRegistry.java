@@ -0,0 +1,50 @@
+package com.example.microservice_flight.search;
+
+import com.example.microservice_flight.model.RouteStatus;
+import com.example.microservice_flight.repository.RouteRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class RouteGraphRegistry {
+
+    private final RouteRepository routeRepository;
+
+    private volatile RouteGraph graph = RouteGraph.EMPTY;
+
+    public RouteGraph current() {
+        return graph;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void refresh() {
+        List<RouteGraph.Leg> routes = routeRepository.findByStatus(RouteStatus.ACTIVE).stream()
+                .map(route -> new RouteGraph.Leg(route.getOriginAirport(), route.getDestinationAirport()))
+                .toList();
+        graph = new RouteGraph(routes);
+        log.info("Route graph rebuilt with {} active routes", graph.routeCount());
+    }
+
+    // Las rutas cambian poco: se reconstruye el grafo completo cuando la transacción confirma
+    public void refreshAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    refresh();
+                }
+            });
+        } else {
+            refresh();
+        }
+    }
+}
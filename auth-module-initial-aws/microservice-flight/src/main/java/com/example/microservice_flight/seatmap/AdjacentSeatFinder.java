@@ -0,0 +1,68 @@
+package com.example.microservice_flight.seatmap;
+
+import com.example.microservice_flight.model.SeatClass;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Búsqueda de asientos contiguos sobre el bitmap de disponibilidad, fila por fila según
+ * el {@link SeatLayout}. Primero intenta N asientos seguidos en una misma fila; si no hay,
+ * reparte el grupo en el menor número de filas posible.
+ */
+public final class AdjacentSeatFinder {
+
+    private AdjacentSeatFinder() {
+    }
+
+    /** @return ordinales elegidos, o lista vacía si la clase no tiene suficientes asientos libres */
+    public static List<Integer> find(SeatLayout layout, long[] available, SeatClass seatClass, int count) {
+        SeatLayout.Range range = layout.range(seatClass);
+
+        int currentRow = -1;
+        int run = 0;
+        for (int ordinal = range.start(); ordinal < range.end(); ordinal++) {
+            if (layout.row(ordinal) != currentRow) {
+                currentRow = layout.row(ordinal);
+                run = 0;
+            }
+            run = isSet(available, ordinal) ? run + 1 : 0;
+            if (run == count) {
+                List<Integer> seats = new ArrayList<>(count);
+                for (int seat = ordinal - count + 1; seat <= ordinal; seat++) {
+                    seats.add(seat);
+                }
+                return seats;
+            }
+        }
+
+        // Sin hueco suficiente en una fila: las filas con más asientos libres primero minimizan el número de filas
+        Map<Integer, List<Integer>> freeByRow = new LinkedHashMap<>();
+        for (int ordinal = range.start(); ordinal < range.end(); ordinal++) {
+            if (isSet(available, ordinal)) {
+                freeByRow.computeIfAbsent(layout.row(ordinal), row -> new ArrayList<>()).add(ordinal);
+            }
+        }
+
+        List<List<Integer>> rows = new ArrayList<>(freeByRow.values());
+        rows.sort(Comparator.comparingInt((List<Integer> row) -> row.size()).reversed());
+
+        List<Integer> seats = new ArrayList<>(count);
+        for (List<Integer> row : rows) {
+            for (int ordinal : row) {
+                if (seats.size() == count) {
+                    return seats;
+                }
+                seats.add(ordinal);
+            }
+        }
+        return seats.size() == count ? seats : List.of();
+    }
+
+    private static boolean isSet(long[] bits, int ordinal) {
+        return (bits[ordinal >>> 6] & (1L << ordinal)) != 0;
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.microservice_flight.seatmap;
+
+import com.example.microservice_flight.model.SeatClass;
+
+/**
+ * Disponibilidad de asientos de un vuelo como bitmap indexado por el ordinal
+ * del {@link SeatLayout}: un bit a 1 significa asiento disponible. La
+ * distribución se comparte entre vuelos, así que cada vuelo solo ocupa sus bits.
+ */
+public class FlightSeatAvailability {
+
+    private final SeatLayout layout;
+    private final long[] available;
+    private final long loadedAtMillis;
+    private int availableCount;
+
+    FlightSeatAvailability(SeatLayout layout, long loadedAtMillis) {
+        this.layout = layout;
+        this.available = new long[(layout.size() + 63) >>> 6];
+        this.loadedAtMillis = loadedAtMillis;
+    }
+
+    public SeatLayout getLayout() {
+        return layout;
+    }
+
+    long getLoadedAtMillis() {
+        return loadedAtMillis;
+    }
+
+    public synchronized boolean isAvailable(int ordinal) {
+        return (available[ordinal >>> 6] & (1L << ordinal)) != 0;
+    }
+
+    /** @return true si el bit cambió */
+    synchronized boolean setAvailable(int ordinal, boolean value) {
+        if (isAvailable(ordinal) == value) {
+            return false;
+        }
+        available[ordinal >>> 6] ^= 1L << ordinal;
+        availableCount += value ? 1 : -1;
+        return true;
+    }
+
+    public synchronized int availableCount() {
+        return availableCount;
+    }
+
+    public synchronized int availableCount(SeatClass seatClass) {
+        SeatLayout.Range range = layout.range(seatClass);
+        int count = 0;
+        for (int ordinal = range.start(); ordinal < range.end(); ordinal++) {
+            if ((available[ordinal >>> 6] & (1L << ordinal)) != 0) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /** Copia consistente del bitmap para recorrerlo sin mantener el lock. */
+    public synchronized long[] snapshot() {
+        return available.clone();
+    }
+}
@@ -0,0 +1,168 @@
+package com.example.microservice_flight.seatmap;
+
+import com.example.microservice_flight.model.AircraftEntity;
+import com.example.microservice_flight.model.SeatStatus;
+import com.example.microservice_flight.repository.FlightRepository;
+import com.example.microservice_flight.repository.SeatRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class SeatAvailabilityCache {
+
+    private final FlightRepository flightRepository;
+    private final SeatRepository seatRepository;
+    private final SeatLayoutRegistry layoutRegistry;
+
+    private static final int GENERATION_STRIPES = 1024;
+
+    private final Map<UUID, FlightSeatAvailability> flights = new ConcurrentHashMap<>();
+
+    // Generación por franja de vuelos: cada cambio tras el commit la incrementa y una carga que empezó antes no se guarda.
+    // Franjas fijas en lugar de una por vuelo: memoria acotada a cambio de descartar alguna carga de otro vuelo
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+
+    // Red de seguridad para cambios hechos por otras instancias: el bitmap se reconstruye pasado este tiempo
+    @Value("${flight.seat-cache.ttl-seconds:60}")
+    private long ttlSeconds;
+
+    public FlightSeatAvailability get(UUID flightId) {
+        FlightSeatAvailability cached = flights.get(flightId);
+        if (cached != null && !isExpired(cached, System.currentTimeMillis())) {
+            return cached;
+        }
+
+        // Dentro de una transacción de escritura la carga puede ver filas sin confirmar: no se guarda
+        if (isWriteTransactionActive()) {
+            return load(flightId);
+        }
+
+        int stripe = stripe(flightId);
+        long generation = generations.get(stripe);
+        FlightSeatAvailability loaded = load(flightId);
+
+        // Si hubo un cambio del vuelo mientras se leía la base de datos, el bitmap puede ser anterior a él:
+        // se devuelve a quien lo pidió pero no se guarda. compute serializa la comprobación con apply y evict
+        flights.compute(flightId, (id, current) -> generations.get(stripe) == generation ? loaded : current);
+        return loaded;
+    }
+
+    /**
+     * Layout del avión del vuelo. No depende del estado de los asientos, así que sirve del bitmap cacheado
+     * o se resuelve sin leer asientos.
+     */
+    public SeatLayout layout(UUID flightId) {
+        FlightSeatAvailability cached = flights.get(flightId);
+        if (cached != null) {
+            return cached.getLayout();
+        }
+        return layoutRegistry.layoutFor(findAircraft(flightId));
+    }
+
+    public void markReserved(UUID flightId, Collection<String> seatNumbers) {
+        afterCommit(() -> apply(flightId, seatNumbers, false));
+    }
+
+    public void markAvailable(UUID flightId, Collection<String> seatNumbers) {
+        afterCommit(() -> apply(flightId, seatNumbers, true));
+    }
+
+    public void evict(UUID flightId) {
+        afterCommit(() -> flights.compute(flightId, (id, current) -> {
+            generations.incrementAndGet(stripe(flightId));
+            return null;
+        }));
+    }
+
+    @Scheduled(fixedDelayString = "${flight.seat-cache.eviction-interval-ms:60000}")
+    public void evictExpired() {
+        long now = System.currentTimeMillis();
+        flights.values().removeIf(availability -> isExpired(availability, now));
+    }
+
+    private FlightSeatAvailability load(UUID flightId) {
+        FlightSeatAvailability availability =
+                new FlightSeatAvailability(layoutRegistry.layoutFor(findAircraft(flightId)), System.currentTimeMillis());
+
+        // Todo el layout parte disponible y solo se leen los asientos tomados; así también
+        // funciona para vuelos en modo perezoso, donde los asientos libres no tienen fila
+        for (int ordinal = 0; ordinal < availability.getLayout().size(); ordinal++) {
+            availability.setAvailable(ordinal, true);
+        }
+
+        List<String> heldSeats = seatRepository.findSeatNumbersByFlightIdAndStatusNot(flightId, SeatStatus.AVAILABLE);
+        for (String seatNumber : heldSeats) {
+            int ordinal = availability.getLayout().ordinalOf(seatNumber);
+            if (ordinal < 0) {
+                log.warn("Seat {} of flight {} is not part of the aircraft layout", seatNumber, flightId);
+                continue;
+            }
+            availability.setAvailable(ordinal, false);
+        }
+
+        log.debug("Loaded seat availability for flight {}: {} of {} available",
+                flightId, availability.availableCount(), availability.getLayout().size());
+        return availability;
+    }
+
+    private AircraftEntity findAircraft(UUID flightId) {
+        return flightRepository.findAircraftByFlightId(flightId)
+                .orElseThrow(() -> new RuntimeException("Flight not found"));
+    }
+
+    private void apply(UUID flightId, Collection<String> seatNumbers, boolean available) {
+        flights.compute(flightId, (id, availability) -> {
+            generations.incrementAndGet(stripe(flightId));
+            if (availability == null) {
+                return null; // Se cargará desde la base de datos en el próximo acceso
+            }
+            for (String seatNumber : seatNumbers) {
+                int ordinal = availability.getLayout().ordinalOf(seatNumber);
+                if (ordinal >= 0) {
+                    availability.setAvailable(ordinal, available);
+                }
+            }
+            return availability;
+        });
+    }
+
+    private static int stripe(UUID flightId) {
+        return Math.floorMod(flightId.hashCode(), GENERATION_STRIPES);
+    }
+
+    private boolean isExpired(FlightSeatAvailability availability, long now) {
+        return now - availability.getLoadedAtMillis() > ttlSeconds * 1000;
+    }
+
+    private static boolean isWriteTransactionActive() {
+        return TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
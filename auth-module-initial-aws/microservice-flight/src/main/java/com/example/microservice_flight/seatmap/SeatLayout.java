@@ -0,0 +1,135 @@
+package com.example.microservice_flight.seatmap;
+
+import com.example.microservice_flight.dto.AircraftDto;
+import com.example.microservice_flight.model.AircraftEntity;
+import com.example.microservice_flight.model.SeatClass;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Distribución de cabina calculada una sola vez por configuración de avión
+ * (asientos first / business / economy). Cada asiento tiene un ordinal fijo
+ * que sirve de índice para los mapas de disponibilidad por vuelo.
+ */
+public final class SeatLayout {
+
+    private static final char[] FIRST_CLASS_COLUMNS = {'A', 'B', 'C', 'D'};
+    private static final char[] CABIN_COLUMNS = {'A', 'B', 'C', 'D', 'E', 'F'};
+
+    private final Key key;
+    private final String[] seatNumbers;
+    private final int[] rows;
+    private final Map<String, Integer> ordinals;
+    private final Map<SeatClass, Range> ranges = new EnumMap<>(SeatClass.class);
+
+    private SeatLayout(Key key) {
+        this.key = key;
+        int total = key.total();
+        this.seatNumbers = new String[total];
+        this.rows = new int[total];
+        this.ordinals = new HashMap<>(total * 2);
+
+        int firstRows = (int) Math.ceil(key.firstClassSeats() / 4.0);
+        int businessRows = (int) Math.ceil(key.businessSeats() / 6.0);
+
+        int next = fill(0, 1, key.firstClassSeats(), FIRST_CLASS_COLUMNS, SeatClass.FIRST_CLASS);
+        next = fill(next, firstRows + 1, key.businessSeats(), CABIN_COLUMNS, SeatClass.BUSINESS);
+        fill(next, firstRows + businessRows + 1, key.economySeats(), CABIN_COLUMNS, SeatClass.ECONOMY);
+    }
+
+    public static SeatLayout of(Key key) {
+        return new SeatLayout(key);
+    }
+
+    private int fill(int start, int startRow, int count, char[] columns, SeatClass seatClass) {
+        int ordinal = start;
+        for (int row = startRow; ordinal < start + count; row++) {
+            for (char column : columns) {
+                if (ordinal >= start + count) break;
+                String seatNumber = row + String.valueOf(column);
+                seatNumbers[ordinal] = seatNumber;
+                rows[ordinal] = row;
+                ordinals.put(seatNumber, ordinal);
+                ordinal++;
+            }
+        }
+        ranges.put(seatClass, new Range(start, ordinal));
+        return ordinal;
+    }
+
+    public Key getKey() {
+        return key;
+    }
+
+    public int size() {
+        return seatNumbers.length;
+    }
+
+    public String seatNumber(int ordinal) {
+        return seatNumbers[ordinal];
+    }
+
+    public int row(int ordinal) {
+        return rows[ordinal];
+    }
+
+    public SeatClass seatClass(int ordinal) {
+        for (Map.Entry<SeatClass, Range> entry : ranges.entrySet()) {
+            if (entry.getValue().contains(ordinal)) {
+                return entry.getKey();
+            }
+        }
+        throw new IndexOutOfBoundsException("Seat ordinal out of layout: " + ordinal);
+    }
+
+    public Range range(SeatClass seatClass) {
+        return ranges.get(seatClass);
+    }
+
+    public char[] columns(SeatClass seatClass) {
+        return seatClass == SeatClass.FIRST_CLASS ? FIRST_CLASS_COLUMNS.clone() : CABIN_COLUMNS.clone();
+    }
+
+    /** @return ordinal del asiento o -1 si no pertenece a esta distribución */
+    public int ordinalOf(String seatNumber) {
+        Integer ordinal = ordinals.get(seatNumber);
+        return ordinal != null ? ordinal : -1;
+    }
+
+    public record Key(int firstClassSeats, int businessSeats, int economySeats) {
+
+        public int total() {
+            return firstClassSeats + businessSeats + economySeats;
+        }
+
+        public static Key of(AircraftDto aircraft) {
+            return new Key(
+                    aircraft.getFirstClassSeats() != null ? aircraft.getFirstClassSeats() : 0,
+                    aircraft.getBusinessSeats() != null ? aircraft.getBusinessSeats() : 0,
+                    aircraft.getEconomySeats() != null ? aircraft.getEconomySeats() : 0
+            );
+        }
+
+        public static Key of(AircraftEntity aircraft) {
+            return new Key(
+                    aircraft.getFirstClassSeats() != null ? aircraft.getFirstClassSeats() : 0,
+                    aircraft.getBusinessSeats() != null ? aircraft.getBusinessSeats() : 0,
+                    aircraft.getEconomySeats() != null ? aircraft.getEconomySeats() : 0
+            );
+        }
+    }
+
+    /** Rango de ordinales [start, end) de una clase de cabina. */
+    public record Range(int start, int end) {
+
+        public boolean contains(int ordinal) {
+            return ordinal >= start && ordinal < end;
+        }
+
+        public int size() {
+            return end - start;
+        }
+    }
+}
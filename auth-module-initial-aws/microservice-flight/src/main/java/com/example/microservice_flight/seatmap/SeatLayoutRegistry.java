@@ -0,0 +1,22 @@
+package com.example.microservice_flight.seatmap;
+
+import com.example.microservice_flight.model.AircraftEntity;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+public class SeatLayoutRegistry {
+
+    // Hay pocas configuraciones distintas de cabina; cada una se calcula una vez y se comparte
+    private final Map<SeatLayout.Key, SeatLayout> layouts = new ConcurrentHashMap<>();
+
+    public SeatLayout layoutFor(AircraftEntity aircraft) {
+        return layoutFor(SeatLayout.Key.of(aircraft));
+    }
+
+    public SeatLayout layoutFor(SeatLayout.Key key) {
+        return layouts.computeIfAbsent(key, SeatLayout::of);
+    }
+}
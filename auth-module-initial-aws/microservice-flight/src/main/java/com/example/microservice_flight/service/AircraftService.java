@@ -1,6 +1,7 @@
 package com.example.microservice_flight.service;
 
 import com.example.microservice_flight.dto.AircraftDto;
+import com.example.microservice_flight.dto.CursorPageDto;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -11,5 +12,6 @@ public interface AircraftService {
     AircraftDto updateAircraft(UUID id, AircraftDto dto);
     AircraftDto getAircraft(UUID id);
     Page<AircraftDto> getAllAircraft(Pageable pageable);
+    CursorPageDto<AircraftDto> getAircraftAfter(String cursor, int size);
     void deleteAircraft(UUID id);
 }
\ No newline at end of file
@@ -1,15 +1,21 @@
 package com.example.microservice_flight.service;
 
+import com.example.microservice_flight.cache.ReferenceDataLookup;
 import com.example.microservice_flight.dto.AircraftDto;
+import com.example.microservice_flight.dto.CursorPageDto;
 import com.example.microservice_flight.model.AircraftEntity;
+import com.example.microservice_flight.pagination.CursorCodec;
+import com.example.microservice_flight.pagination.CursorPages;
 import com.example.microservice_flight.repository.AircraftRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.UUID;
 
 @Slf4j
@@ -18,6 +24,7 @@ import java.util.UUID;
 public class AircraftServiceImpl implements AircraftService {
 
     private final AircraftRepository aircraftRepository;
+    private final ReferenceDataLookup referenceDataLookup;
 
     @Override
     @Transactional
@@ -51,15 +58,15 @@ public class AircraftServiceImpl implements AircraftService {
         }
 
         AircraftEntity updated = aircraftRepository.save(aircraft);
+        referenceDataLookup.evictAircraft(id);
         return mapToDto(updated);
     }
 
     @Override
     @Transactional(readOnly = true)
     public AircraftDto getAircraft(UUID id) {
-        AircraftEntity aircraft = aircraftRepository.findById(id)
+        return referenceDataLookup.findAircraft(id)
                 .orElseThrow(() -> new RuntimeException("Aircraft not found"));
-        return mapToDto(aircraft);
     }
 
     @Override
@@ -69,10 +76,25 @@ public class AircraftServiceImpl implements AircraftService {
                 .map(this::mapToDto);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDto<AircraftDto> getAircraftAfter(String cursor, int size) {
+        Limit limit = Limit.of(CursorPages.validateSize(size) + 1);
+
+        List<AircraftEntity> rows = cursor == null || cursor.isBlank()
+                ? aircraftRepository.findAllByOrderByRegistrationNumber(limit)
+                : aircraftRepository.findByRegistrationNumberGreaterThanOrderByRegistrationNumber(
+                        CursorCodec.decode(cursor, 1)[0], limit);
+
+        return CursorPages.of(rows, size, this::mapToDto,
+                aircraft -> CursorCodec.encode(aircraft.getRegistrationNumber()));
+    }
+
     @Override
     @Transactional
     public void deleteAircraft(UUID id) {
         aircraftRepository.deleteById(id);
+        referenceDataLookup.evictAircraft(id);
     }
 
     private AircraftDto mapToDto(AircraftEntity entity) {
@@ -0,0 +1,12 @@
+package com.example.microservice_flight.service;
+
+import com.example.microservice_flight.dto.FlightDto;
+
+import java.util.Optional;
+import java.util.UUID;
+
+public interface FlightArchiveService {
+    // Mueve a archivo los vuelos salidos hace más de N días; devuelve cuántos se archivaron
+    int archiveDepartedFlights();
+    Optional<FlightDto> findArchivedFlight(UUID id);
+}
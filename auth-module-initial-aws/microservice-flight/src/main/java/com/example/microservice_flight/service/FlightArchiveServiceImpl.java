@@ -0,0 +1,122 @@
+package com.example.microservice_flight.service;
+
+import com.example.microservice_flight.cache.ReferenceDataLookup;
+import com.example.microservice_flight.dto.FlightDto;
+import com.example.microservice_flight.model.FlightArchiveEntity;
+import com.example.microservice_flight.repository.FlightArchiveBatchRepository;
+import com.example.microservice_flight.repository.FlightArchiveRepository;
+import com.example.microservice_flight.repository.FlightRepository;
+import com.example.microservice_flight.search.FlightSearchIndex;
+import com.example.microservice_flight.seatmap.SeatAvailabilityCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Almacenamiento frío de vuelos salidos. Cada lote se copia y se borra en su propia transacción
+ * para no mantener bloqueos largos sobre flights y seats.
+ */
+@Slf4j
+@Service
+public class FlightArchiveServiceImpl implements FlightArchiveService {
+
+    private final FlightRepository flightRepository;
+    private final FlightArchiveRepository flightArchiveRepository;
+    private final FlightArchiveBatchRepository flightArchiveBatchRepository;
+    private final ReferenceDataLookup referenceDataLookup;
+    private final SeatAvailabilityCache seatAvailabilityCache;
+    private final FlightSearchIndex flightSearchIndex;
+    private final TransactionTemplate transactionTemplate;
+
+    private final int retentionDays;
+    private final int chunkSize;
+    private final int maxChunksPerRun;
+
+    public FlightArchiveServiceImpl(
+            FlightRepository flightRepository,
+            FlightArchiveRepository flightArchiveRepository,
+            FlightArchiveBatchRepository flightArchiveBatchRepository,
+            ReferenceDataLookup referenceDataLookup,
+            SeatAvailabilityCache seatAvailabilityCache,
+            FlightSearchIndex flightSearchIndex,
+            TransactionTemplate transactionTemplate,
+            @Value("${flight.archive.retention-days:30}") int retentionDays,
+            @Value("${flight.archive.chunk-size:200}") int chunkSize,
+            @Value("${flight.archive.max-chunks-per-run:50}") int maxChunksPerRun) {
+        this.flightRepository = flightRepository;
+        this.flightArchiveRepository = flightArchiveRepository;
+        this.flightArchiveBatchRepository = flightArchiveBatchRepository;
+        this.referenceDataLookup = referenceDataLookup;
+        this.seatAvailabilityCache = seatAvailabilityCache;
+        this.flightSearchIndex = flightSearchIndex;
+        this.transactionTemplate = transactionTemplate;
+        this.retentionDays = retentionDays;
+        this.chunkSize = chunkSize;
+        this.maxChunksPerRun = maxChunksPerRun;
+    }
+
+    @Override
+    public int archiveDepartedFlights() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+        int archived = 0;
+
+        // Tope por pasada: un atraso grande se reparte entre varias ejecuciones
+        for (int chunk = 0; chunk < maxChunksPerRun; chunk++) {
+            List<UUID> flightIds = flightRepository.findIdsDepartedBefore(cutoff, Limit.of(chunkSize));
+            if (flightIds.isEmpty()) {
+                break;
+            }
+
+            Integer moved = transactionTemplate.execute(status ->
+                    flightArchiveBatchRepository.archiveFlights(flightIds, LocalDateTime.now()));
+            // Solo tras el commit: si el borrado se deshace, los vuelos siguen vivos y deben seguir indexados
+            flightIds.forEach(flightSearchIndex::evict);
+            flightIds.forEach(seatAvailabilityCache::evict);
+            archived += moved != null ? moved : 0;
+
+            if (flightIds.size() < chunkSize) {
+                break;
+            }
+        }
+
+        if (archived > 0) {
+            log.info("Archived {} flights departed before {}", archived, cutoff);
+        }
+        return archived;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<FlightDto> findArchivedFlight(UUID id) {
+        return flightArchiveRepository.findById(id).map(this::mapToDto);
+    }
+
+    private FlightDto mapToDto(FlightArchiveEntity archived) {
+        int booked = archived.getBookedSeats();
+        int available = archived.getAvailableSeats();
+
+        return FlightDto.builder()
+                .id(archived.getId())
+                .flightNumber(archived.getFlightNumber())
+                .aircraftId(archived.getAircraftId())
+                .routeId(archived.getRouteId())
+                .departureTime(archived.getDepartureTime())
+                .arrivalTime(archived.getArrivalTime())
+                .basePrice(archived.getBasePrice())
+                .availableSeats(available)
+                .bookedSeats(booked)
+                .status(archived.getStatus())
+                .occupancyRate(available == 0 ? 0.0 : (double) booked / (booked + available))
+                .aircraft(referenceDataLookup.findAircraft(archived.getAircraftId()).orElse(null))
+                .route(referenceDataLookup.findRoute(archived.getRouteId()).orElse(null))
+                .build();
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.microservice_flight.service;
+
+import com.example.microservice_flight.dto.FlightImportResultDto;
+
+import java.io.InputStream;
+
+public interface FlightImportService {
+    FlightImportResultDto importSchedule(InputStream body, ImportFormat format);
+
+    enum ImportFormat {
+        CSV,
+        NDJSON
+    }
+}
@@ -0,0 +1,407 @@
+package com.example.microservice_flight.service;
+
+import com.example.microservice_flight.cache.ReferenceDataLookup;
+import com.example.microservice_flight.dto.AircraftDto;
+import com.example.microservice_flight.dto.FlightDto;
+import com.example.microservice_flight.dto.FlightImportResultDto;
+import com.example.microservice_flight.dto.RouteDto;
+import com.example.microservice_flight.events.FlightEventPublisher;
+import com.example.microservice_flight.model.AircraftStatus;
+import com.example.microservice_flight.model.FlightStatus;
+import com.example.microservice_flight.model.RouteStatus;
+import com.example.microservice_flight.repository.FlightBatchRepository;
+import com.example.microservice_flight.repository.FlightRepository;
+import com.example.microservice_flight.repository.SeatBatchRepository;
+import com.example.microservice_flight.search.FlightSearchIndex;
+import com.example.microservice_flight.seatmap.SeatLayout;
+import com.example.microservice_flight.seatmap.SeatLayoutRegistry;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Importación de temporadas completas. El cuerpo se lee línea a línea mientras los lotes ya
+ * validados se insertan en paralelo; un semáforo limita los lotes en vuelo para que la memoria
+ * no crezca con el tamaño del archivo.
+ */
+@Slf4j
+@Service
+public class FlightImportServiceImpl implements FlightImportService {
+
+    private static final List<String> COLUMNS =
+            List.of("flightNumber", "aircraftId", "routeId", "departureTime", "arrivalTime", "basePrice");
+    private static final int MAX_REPORTED_ERRORS = 1000;
+
+    private final FlightRepository flightRepository;
+    private final FlightBatchRepository flightBatchRepository;
+    private final SeatBatchRepository seatBatchRepository;
+    private final SeatLayoutRegistry seatLayoutRegistry;
+    private final ReferenceDataLookup referenceDataLookup;
+    private final FlightSearchIndex flightSearchIndex;
+    private final FlightEventPublisher flightEventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final ExecutorService workers;
+    private final int workerCount;
+    private final int chunkSize;
+
+    @Value("${flight.seats.lazy-materialization:false}")
+    private boolean lazySeatMaterialization;
+
+    public FlightImportServiceImpl(
+            FlightRepository flightRepository,
+            FlightBatchRepository flightBatchRepository,
+            SeatBatchRepository seatBatchRepository,
+            SeatLayoutRegistry seatLayoutRegistry,
+            ReferenceDataLookup referenceDataLookup,
+            FlightSearchIndex flightSearchIndex,
+            FlightEventPublisher flightEventPublisher,
+            TransactionTemplate transactionTemplate,
+            @Value("${flight.import.workers:4}") int workerCount,
+            @Value("${flight.import.chunk-size:1000}") int chunkSize) {
+        this.flightRepository = flightRepository;
+        this.flightBatchRepository = flightBatchRepository;
+        this.seatBatchRepository = seatBatchRepository;
+        this.seatLayoutRegistry = seatLayoutRegistry;
+        this.referenceDataLookup = referenceDataLookup;
+        this.flightSearchIndex = flightSearchIndex;
+        this.flightEventPublisher = flightEventPublisher;
+        this.transactionTemplate = transactionTemplate;
+        this.workerCount = workerCount;
+        this.chunkSize = chunkSize;
+        this.workers = Executors.newFixedThreadPool(workerCount);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdown();
+    }
+
+    @Override
+    public FlightImportResultDto importSchedule(InputStream body, ImportFormat format) {
+        long start = System.currentTimeMillis();
+        ImportRun run = new ImportRun();
+        Semaphore inFlight = new Semaphore(workerCount * 2);
+        List<Future<?>> pending = new ArrayList<>();
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            Map<String, Integer> header = format == ImportFormat.CSV ? readHeader(reader) : null;
+            List<ImportRow> chunk = new ArrayList<>(chunkSize);
+            Set<FlightKey> seenFlights = new HashSet<>();
+
+            String line;
+            int rowNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) continue;
+                rowNumber++;
+
+                ImportRow row = parseRow(run, rowNumber, line, format, header, seenFlights);
+                if (row == null) continue;
+
+                chunk.add(row);
+                if (chunk.size() == chunkSize) {
+                    pending.add(submit(run, chunk, inFlight));
+                    chunk = new ArrayList<>(chunkSize);
+                }
+            }
+            run.totalRows = rowNumber;
+
+            if (!chunk.isEmpty()) {
+                pending.add(submit(run, chunk, inFlight));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error reading flight schedule", e);
+        } finally {
+            awaitAll(pending);
+        }
+
+        long elapsed = System.currentTimeMillis() - start;
+        log.info("Imported {} of {} flights in {} ms ({} rows failed)",
+                run.imported.get(), run.totalRows, elapsed, run.failed.get());
+
+        return FlightImportResultDto.builder()
+                .totalRows(run.totalRows)
+                .imported(run.imported.get())
+                .failed(run.failed.get())
+                .elapsedMillis(elapsed)
+                .errors(new ArrayList<>(run.errors))
+                .build();
+    }
+
+    private Map<String, Integer> readHeader(BufferedReader reader) throws IOException {
+        String headerLine = reader.readLine();
+        if (headerLine == null) {
+            throw new IllegalArgumentException("CSV schedule is empty");
+        }
+
+        Map<String, Integer> header = new HashMap<>();
+        String[] names = headerLine.split(",", -1);
+        for (int i = 0; i < names.length; i++) {
+            header.put(names[i].trim(), i);
+        }
+        for (String column : COLUMNS) {
+            if (!header.containsKey(column)) {
+                throw new IllegalArgumentException("CSV header is missing column " + column);
+            }
+        }
+        return header;
+    }
+
+    private ImportRow parseRow(ImportRun run, int rowNumber, String line, ImportFormat format,
+                               Map<String, Integer> header, Set<FlightKey> seenFlights) {
+        String flightNumber = null;
+        try {
+            Map<String, String> fields = format == ImportFormat.CSV ? csvFields(line, header) : jsonFields(line);
+            flightNumber = required(fields, "flightNumber");
+
+            AircraftDto aircraft = run.aircraft(UUID.fromString(required(fields, "aircraftId")))
+                    .orElseThrow(() -> new IllegalArgumentException("Aircraft not found"));
+            if (aircraft.getStatus() != AircraftStatus.ACTIVE) {
+                throw new IllegalArgumentException("Aircraft is not active");
+            }
+
+            RouteDto route = run.route(UUID.fromString(required(fields, "routeId")))
+                    .orElseThrow(() -> new IllegalArgumentException("Route not found"));
+            if (route.getStatus() != RouteStatus.ACTIVE) {
+                throw new IllegalArgumentException("Route is not active");
+            }
+
+            LocalDateTime departure = LocalDateTime.parse(required(fields, "departureTime"));
+            LocalDateTime arrival = LocalDateTime.parse(required(fields, "arrivalTime"));
+            if (!arrival.isAfter(departure)) {
+                throw new IllegalArgumentException("Arrival time must be after departure time");
+            }
+
+            if (!seenFlights.add(new FlightKey(flightNumber, departure.toLocalDate()))) {
+                throw new IllegalArgumentException("Duplicate flight number and date in file");
+            }
+
+            BigDecimal basePrice = new BigDecimal(required(fields, "basePrice"));
+            if (basePrice.signum() <= 0) {
+                throw new IllegalArgumentException("Base price must be positive");
+            }
+
+            FlightDto flight = FlightDto.builder()
+                    .id(UUID.randomUUID())
+                    .flightNumber(flightNumber)
+                    .aircraftId(aircraft.getId())
+                    .routeId(route.getId())
+                    .departureTime(departure)
+                    .arrivalTime(arrival)
+                    .basePrice(basePrice)
+                    .availableSeats(SeatLayout.Key.of(aircraft).total())
+                    .bookedSeats(0)
+                    .status(FlightStatus.SCHEDULED)
+                    .occupancyRate(0.0)
+                    .aircraft(aircraft)
+                    .route(route)
+                    .build();
+            return new ImportRow(rowNumber, flight);
+        } catch (RuntimeException e) {
+            // Cualquier fallo de formato o validación se reporta por fila y la importación sigue
+            run.reject(rowNumber, flightNumber, e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName());
+            return null;
+        }
+    }
+
+    private Map<String, String> csvFields(String line, Map<String, Integer> header) {
+        String[] values = line.split(",", -1);
+        Map<String, String> fields = new HashMap<>();
+        for (String column : COLUMNS) {
+            int index = header.get(column);
+            if (index < values.length) {
+                fields.put(column, values[index].trim());
+            }
+        }
+        return fields;
+    }
+
+    private Map<String, String> jsonFields(String line) {
+        try {
+            JsonNode node = objectMapper.readTree(line);
+            Map<String, String> fields = new HashMap<>();
+            for (String column : COLUMNS) {
+                JsonNode value = node.get(column);
+                if (value != null && !value.isNull()) {
+                    fields.put(column, value.asText());
+                }
+            }
+            return fields;
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Malformed JSON line");
+        }
+    }
+
+    private String required(Map<String, String> fields, String column) {
+        String value = fields.get(column);
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("Missing field " + column);
+        }
+        return value;
+    }
+
+    private Future<?> submit(ImportRun run, List<ImportRow> chunk, Semaphore inFlight) {
+        try {
+            inFlight.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while importing flight schedule");
+        }
+
+        return workers.submit(() -> {
+            try {
+                insertChunk(run, chunk);
+            } finally {
+                inFlight.release();
+            }
+        });
+    }
+
+    private void insertChunk(ImportRun run, List<ImportRow> chunk) {
+        Set<FlightKey> existing = existingKeys(chunk);
+
+        List<ImportRow> rows = new ArrayList<>(chunk.size());
+        for (ImportRow row : chunk) {
+            if (existing.contains(FlightKey.of(row.flight()))) {
+                run.reject(row.rowNumber(), row.flight().getFlightNumber(),
+                        "Flight with this number already exists for this date");
+            } else {
+                rows.add(row);
+            }
+        }
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        List<FlightDto> flights = rows.stream().map(ImportRow::flight).toList();
+        boolean materialize = !lazySeatMaterialization;
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                flightBatchRepository.insertFlights(flights, materialize);
+                if (materialize) {
+                    Map<UUID, SeatLayout> layouts = new LinkedHashMap<>();
+                    for (FlightDto flight : flights) {
+                        layouts.put(flight.getId(), seatLayoutRegistry.layoutFor(SeatLayout.Key.of(flight.getAircraft())));
+                    }
+                    seatBatchRepository.insertSeats(layouts);
+                }
+                flightEventPublisher.flightsCreated(flights);
+            });
+        } catch (DataAccessException e) {
+            // El lote se deshace entero: p. ej. otro proceso insertó el mismo número de vuelo entretanto
+            log.warn("Flight import chunk of {} rows failed: {}", rows.size(), e.getMostSpecificCause().getMessage());
+            for (ImportRow row : rows) {
+                run.reject(row.rowNumber(), row.flight().getFlightNumber(),
+                        "Batch insert failed: " + e.getMostSpecificCause().getMessage());
+            }
+            return;
+        }
+
+        run.imported.addAndGet(flights.size());
+        flights.forEach(flightSearchIndex::put);
+    }
+
+    private Set<FlightKey> existingKeys(List<ImportRow> chunk) {
+        Set<String> flightNumbers = new HashSet<>();
+        LocalDate from = LocalDate.MAX;
+        LocalDate to = LocalDate.MIN;
+        for (ImportRow row : chunk) {
+            LocalDate date = row.flight().getDepartureTime().toLocalDate();
+            flightNumbers.add(row.flight().getFlightNumber());
+            from = date.isBefore(from) ? date : from;
+            to = date.isAfter(to) ? date : to;
+        }
+
+        Set<FlightKey> existing = new HashSet<>();
+        for (FlightRepository.FlightKey key : flightRepository.findFlightKeys(flightNumbers, from, to)) {
+            existing.add(new FlightKey(key.getFlightNumber(), key.getDepartureDate()));
+        }
+        return existing;
+    }
+
+    private void awaitAll(List<Future<?>> pending) {
+        for (Future<?> future : pending) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while importing flight schedule");
+            } catch (ExecutionException e) {
+                log.error("Flight import worker failed: {}", e.getCause().getMessage());
+            }
+        }
+    }
+
+    private record ImportRow(int rowNumber, FlightDto flight) {
+    }
+
+    private record FlightKey(String flightNumber, LocalDate departureDate) {
+        static FlightKey of(FlightDto flight) {
+            return new FlightKey(flight.getFlightNumber(), flight.getDepartureTime().toLocalDate());
+        }
+    }
+
+    // Estado de una importación: las búsquedas de avión y ruta se resuelven una sola vez por id
+    private final class ImportRun {
+        private final Map<UUID, Optional<AircraftDto>> aircraft = new ConcurrentHashMap<>();
+        private final Map<UUID, Optional<RouteDto>> routes = new ConcurrentHashMap<>();
+        private final List<FlightImportResultDto.RowError> errors = new ArrayList<>();
+        private final AtomicInteger imported = new AtomicInteger();
+        private final AtomicInteger failed = new AtomicInteger();
+        private int totalRows;
+
+        Optional<AircraftDto> aircraft(UUID id) {
+            return aircraft.computeIfAbsent(id, referenceDataLookup::findAircraft);
+        }
+
+        Optional<RouteDto> route(UUID id) {
+            return routes.computeIfAbsent(id, referenceDataLookup::findRoute);
+        }
+
+        void reject(int row, String flightNumber, String message) {
+            failed.incrementAndGet();
+            synchronized (errors) {
+                if (errors.size() < MAX_REPORTED_ERRORS) {
+                    errors.add(FlightImportResultDto.RowError.builder()
+                            .row(row)
+                            .flightNumber(flightNumber)
+                            .message(message)
+                            .build());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.microservice_flight.service;
+
+import com.example.microservice_flight.dto.FlightScheduleDto;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.UUID;
+
+public interface FlightScheduleService {
+    FlightScheduleDto createSchedule(FlightScheduleDto dto);
+    FlightScheduleDto updateSchedule(UUID id, FlightScheduleDto dto);
+    FlightScheduleDto getSchedule(UUID id);
+    Page<FlightScheduleDto> getAllSchedules(Pageable pageable);
+    void deactivateSchedule(UUID id);
+
+    // Genera los vuelos de los próximos N días; devuelve cuántos vuelos se crearon
+    int expandSchedules();
+    int expandSchedule(UUID id);
+}
@@ -0,0 +1,358 @@
+package com.example.microservice_flight.service;
+
+import com.example.microservice_flight.cache.ReferenceDataLookup;
+import com.example.microservice_flight.dto.AircraftDto;
+import com.example.microservice_flight.dto.FlightDto;
+import com.example.microservice_flight.dto.FlightScheduleDto;
+import com.example.microservice_flight.dto.RouteDto;
+import com.example.microservice_flight.events.FlightEventPublisher;
+import com.example.microservice_flight.model.AircraftStatus;
+import com.example.microservice_flight.model.FlightScheduleEntity;
+import com.example.microservice_flight.model.FlightStatus;
+import com.example.microservice_flight.model.RouteStatus;
+import com.example.microservice_flight.model.ScheduleStatus;
+import com.example.microservice_flight.repository.AircraftRepository;
+import com.example.microservice_flight.repository.FlightBatchRepository;
+import com.example.microservice_flight.repository.FlightRepository;
+import com.example.microservice_flight.repository.FlightScheduleRepository;
+import com.example.microservice_flight.repository.RouteRepository;
+import com.example.microservice_flight.repository.SeatBatchRepository;
+import com.example.microservice_flight.search.FlightSearchIndex;
+import com.example.microservice_flight.seatmap.SeatLayout;
+import com.example.microservice_flight.seatmap.SeatLayoutRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Programaciones recurrentes y su expansión a vuelos concretos.
+ * La expansión es idempotente: las fechas que ya tienen vuelo con ese número se saltan, y si otra
+ * instancia se adelanta el índice único (flight_number, departure_date) rechaza el lote duplicado.
+ */
+@Slf4j
+@Service
+public class FlightScheduleServiceImpl implements FlightScheduleService {
+
+    private final FlightScheduleRepository scheduleRepository;
+    private final FlightRepository flightRepository;
+    private final AircraftRepository aircraftRepository;
+    private final RouteRepository routeRepository;
+    private final FlightBatchRepository flightBatchRepository;
+    private final SeatBatchRepository seatBatchRepository;
+    private final SeatLayoutRegistry seatLayoutRegistry;
+    private final ReferenceDataLookup referenceDataLookup;
+    private final FlightSearchIndex flightSearchIndex;
+    private final FlightEventPublisher flightEventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    private final int horizonDays;
+    private final int batchSize;
+
+    @Value("${flight.seats.lazy-materialization:false}")
+    private boolean lazySeatMaterialization;
+
+    public FlightScheduleServiceImpl(
+            FlightScheduleRepository scheduleRepository,
+            FlightRepository flightRepository,
+            AircraftRepository aircraftRepository,
+            RouteRepository routeRepository,
+            FlightBatchRepository flightBatchRepository,
+            SeatBatchRepository seatBatchRepository,
+            SeatLayoutRegistry seatLayoutRegistry,
+            ReferenceDataLookup referenceDataLookup,
+            FlightSearchIndex flightSearchIndex,
+            FlightEventPublisher flightEventPublisher,
+            TransactionTemplate transactionTemplate,
+            @Value("${flight.schedules.horizon-days:90}") int horizonDays,
+            @Value("${flight.schedules.batch-size:500}") int batchSize) {
+        this.scheduleRepository = scheduleRepository;
+        this.flightRepository = flightRepository;
+        this.aircraftRepository = aircraftRepository;
+        this.routeRepository = routeRepository;
+        this.flightBatchRepository = flightBatchRepository;
+        this.seatBatchRepository = seatBatchRepository;
+        this.seatLayoutRegistry = seatLayoutRegistry;
+        this.referenceDataLookup = referenceDataLookup;
+        this.flightSearchIndex = flightSearchIndex;
+        this.flightEventPublisher = flightEventPublisher;
+        this.transactionTemplate = transactionTemplate;
+        this.horizonDays = horizonDays;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    @Transactional
+    public FlightScheduleDto createSchedule(FlightScheduleDto dto) {
+        log.info("Creating schedule for flight {}", dto.getFlightNumber());
+
+        if (dto.getValidTo().isBefore(dto.getValidFrom())) {
+            throw new IllegalArgumentException("validTo must not be before validFrom");
+        }
+        if (dto.getDepartureTime().equals(dto.getArrivalTime())) {
+            throw new IllegalArgumentException("Arrival time must differ from departure time");
+        }
+
+        AircraftDto aircraft = activeAircraft(dto.getAircraftId());
+        RouteDto route = activeRoute(dto.getRouteId());
+
+        FlightScheduleEntity schedule = FlightScheduleEntity.builder()
+                .flightNumber(dto.getFlightNumber())
+                .aircraft(aircraftRepository.getReferenceById(aircraft.getId()))
+                .route(routeRepository.getReferenceById(route.getId()))
+                .daysOfWeekMask(FlightScheduleEntity.maskOf(dto.getDaysOfWeek()))
+                .departureTime(dto.getDepartureTime())
+                .arrivalTime(dto.getArrivalTime())
+                .validFrom(dto.getValidFrom())
+                .validTo(dto.getValidTo())
+                .basePrice(dto.getBasePrice())
+                .status(ScheduleStatus.ACTIVE)
+                .build();
+
+        return mapToDto(scheduleRepository.save(schedule));
+    }
+
+    @Override
+    @Transactional
+    public FlightScheduleDto updateSchedule(UUID id, FlightScheduleDto dto) {
+        FlightScheduleEntity schedule = scheduleRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Schedule not found"));
+
+        if (dto.getDaysOfWeek() != null && !dto.getDaysOfWeek().isEmpty()) {
+            schedule.setDaysOfWeekMask(FlightScheduleEntity.maskOf(dto.getDaysOfWeek()));
+        }
+        if (dto.getDepartureTime() != null) {
+            schedule.setDepartureTime(dto.getDepartureTime());
+        }
+        if (dto.getArrivalTime() != null) {
+            schedule.setArrivalTime(dto.getArrivalTime());
+        }
+        if (dto.getValidTo() != null) {
+            schedule.setValidTo(dto.getValidTo());
+        }
+        if (dto.getBasePrice() != null) {
+            schedule.setBasePrice(dto.getBasePrice());
+        }
+        if (dto.getStatus() != null) {
+            schedule.setStatus(dto.getStatus());
+        }
+
+        // Los cambios solo afectan a fechas sin vuelo: se vuelve a recorrer la ventana completa
+        schedule.setExpandedUntil(null);
+
+        return mapToDto(scheduleRepository.save(schedule));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public FlightScheduleDto getSchedule(UUID id) {
+        return scheduleRepository.findById(id)
+                .map(this::mapToDto)
+                .orElseThrow(() -> new RuntimeException("Schedule not found"));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<FlightScheduleDto> getAllSchedules(Pageable pageable) {
+        return scheduleRepository.findAll(pageable)
+                .map(this::mapToDto);
+    }
+
+    @Override
+    @Transactional
+    public void deactivateSchedule(UUID id) {
+        FlightScheduleEntity schedule = scheduleRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Schedule not found"));
+
+        // Los vuelos ya generados se mantienen; solo se deja de expandir
+        schedule.setStatus(ScheduleStatus.INACTIVE);
+        scheduleRepository.save(schedule);
+    }
+
+    @Override
+    public int expandSchedules() {
+        LocalDate today = LocalDate.now();
+        LocalDate horizon = today.plusDays(horizonDays);
+
+        int created = 0;
+        for (UUID id : scheduleRepository.findIdsPendingExpansion(ScheduleStatus.ACTIVE, today, horizon)) {
+            try {
+                created += expand(id, today, horizon);
+            } catch (RuntimeException e) {
+                // Una programación con datos inválidos no debe bloquear al resto
+                log.error("Failed to expand schedule {}: {}", id, e.getMessage());
+            }
+        }
+
+        if (created > 0) {
+            log.info("Schedule expansion created {} flights up to {}", created, horizon);
+        }
+        return created;
+    }
+
+    @Override
+    public int expandSchedule(UUID id) {
+        LocalDate today = LocalDate.now();
+        return expand(id, today, today.plusDays(horizonDays));
+    }
+
+    private int expand(UUID id, LocalDate today, LocalDate horizon) {
+        ScheduleSnapshot schedule = transactionTemplate.execute(status -> scheduleRepository.findById(id)
+                .map(ScheduleSnapshot::of)
+                .orElseThrow(() -> new RuntimeException("Schedule not found")));
+
+        if (schedule.entity().getStatus() != ScheduleStatus.ACTIVE) {
+            return 0;
+        }
+
+        LocalDate from = max(today, schedule.entity().getValidFrom());
+        if (schedule.entity().getExpandedUntil() != null) {
+            from = max(from, schedule.entity().getExpandedUntil().plusDays(1));
+        }
+        LocalDate to = min(horizon, schedule.entity().getValidTo());
+        if (from.isAfter(to)) {
+            return 0;
+        }
+
+        AircraftDto aircraft = activeAircraft(schedule.aircraftId());
+        RouteDto route = activeRoute(schedule.routeId());
+
+        List<FlightDto> pending = pendingFlights(schedule.entity(), aircraft, route, from, to);
+        boolean materialize = !lazySeatMaterialization;
+        SeatLayout layout = seatLayoutRegistry.layoutFor(SeatLayout.Key.of(aircraft));
+
+        int created = 0;
+        for (int start = 0; start < pending.size(); start += batchSize) {
+            List<FlightDto> batch = pending.subList(start, Math.min(start + batchSize, pending.size()));
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    flightBatchRepository.insertFlights(batch, materialize);
+                    if (materialize) {
+                        Map<UUID, SeatLayout> layouts = new LinkedHashMap<>();
+                        batch.forEach(flight -> layouts.put(flight.getId(), layout));
+                        seatBatchRepository.insertSeats(layouts);
+                    }
+                    flightEventPublisher.flightsCreated(batch);
+                });
+            } catch (DuplicateKeyException e) {
+                // Otra instancia expandió las mismas fechas: la próxima pasada recalcula lo pendiente
+                log.warn("Schedule {} expansion raced with another writer; retrying on next run", id);
+                return created;
+            }
+            created += batch.size();
+            batch.forEach(flightSearchIndex::put);
+        }
+
+        LocalDate expandedUntil = to;
+        transactionTemplate.executeWithoutResult(status -> scheduleRepository.advanceExpandedUntil(id, expandedUntil));
+
+        log.debug("Schedule {} ({}) expanded {} flights from {} to {}",
+                id, schedule.entity().getFlightNumber(), created, from, to);
+        return created;
+    }
+
+    private List<FlightDto> pendingFlights(FlightScheduleEntity schedule, AircraftDto aircraft, RouteDto route,
+                                           LocalDate from, LocalDate to) {
+        Set<LocalDate> existing = new HashSet<>();
+        for (FlightRepository.FlightKey key : flightRepository.findFlightKeys(List.of(schedule.getFlightNumber()), from, to)) {
+            existing.add(key.getDepartureDate());
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<FlightDto> flights = new ArrayList<>();
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            if (!schedule.operatesOn(date.getDayOfWeek()) || existing.contains(date)) {
+                continue;
+            }
+
+            LocalDateTime departure = date.atTime(schedule.getDepartureTime());
+            if (!departure.isAfter(now)) {
+                continue;
+            }
+            LocalDateTime arrival = schedule.getArrivalTime().isAfter(schedule.getDepartureTime())
+                    ? date.atTime(schedule.getArrivalTime())
+                    : date.plusDays(1).atTime(schedule.getArrivalTime());
+
+            flights.add(FlightDto.builder()
+                    .id(UUID.randomUUID())
+                    .flightNumber(schedule.getFlightNumber())
+                    .aircraftId(aircraft.getId())
+                    .routeId(route.getId())
+                    .departureTime(departure)
+                    .arrivalTime(arrival)
+                    .basePrice(schedule.getBasePrice())
+                    .availableSeats(SeatLayout.Key.of(aircraft).total())
+                    .bookedSeats(0)
+                    .status(FlightStatus.SCHEDULED)
+                    .occupancyRate(0.0)
+                    .aircraft(aircraft)
+                    .route(route)
+                    .build());
+        }
+        return flights;
+    }
+
+    private AircraftDto activeAircraft(UUID aircraftId) {
+        AircraftDto aircraft = referenceDataLookup.findAircraft(aircraftId)
+                .orElseThrow(() -> new RuntimeException("Aircraft not found"));
+        if (aircraft.getStatus() != AircraftStatus.ACTIVE) {
+            throw new RuntimeException("Aircraft is not active");
+        }
+        return aircraft;
+    }
+
+    private RouteDto activeRoute(UUID routeId) {
+        RouteDto route = referenceDataLookup.findRoute(routeId)
+                .orElseThrow(() -> new RuntimeException("Route not found"));
+        if (route.getStatus() != RouteStatus.ACTIVE) {
+            throw new RuntimeException("Route is not active");
+        }
+        return route;
+    }
+
+    private static LocalDate max(LocalDate a, LocalDate b) {
+        return a.isAfter(b) ? a : b;
+    }
+
+    private static LocalDate min(LocalDate a, LocalDate b) {
+        return a.isBefore(b) ? a : b;
+    }
+
+    private FlightScheduleDto mapToDto(FlightScheduleEntity schedule) {
+        return FlightScheduleDto.builder()
+                .id(schedule.getId())
+                .flightNumber(schedule.getFlightNumber())
+                .aircraftId(schedule.getAircraft().getId())
+                .routeId(schedule.getRoute().getId())
+                .daysOfWeek(schedule.getDaysOfWeek())
+                .departureTime(schedule.getDepartureTime())
+                .arrivalTime(schedule.getArrivalTime())
+                .validFrom(schedule.getValidFrom())
+                .validTo(schedule.getValidTo())
+                .basePrice(schedule.getBasePrice())
+                .status(schedule.getStatus())
+                .expandedUntil(schedule.getExpandedUntil())
+                .build();
+    }
+
+    // Ids leídos dentro de la transacción: fuera de ella los proxies lazy no se pueden inicializar
+    private record ScheduleSnapshot(FlightScheduleEntity entity, UUID aircraftId, UUID routeId) {
+        static ScheduleSnapshot of(FlightScheduleEntity schedule) {
+            return new ScheduleSnapshot(schedule, schedule.getAircraft().getId(), schedule.getRoute().getId());
+        }
+    }
+}
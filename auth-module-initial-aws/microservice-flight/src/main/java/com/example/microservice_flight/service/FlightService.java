@@ -1,12 +1,20 @@
 package com.example.microservice_flight.service;
 
+import com.example.microservice_flight.dto.ConnectionItineraryDto;
+import com.example.microservice_flight.dto.CursorPageDto;
 import com.example.microservice_flight.dto.FlightDto;
+import com.example.microservice_flight.dto.SeatAvailabilityDto;
 import com.example.microservice_flight.dto.SeatDto;
+import com.example.microservice_flight.dto.SeatMapDto;
+import com.example.microservice_flight.model.SeatClass;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 public interface FlightService {
@@ -14,10 +22,25 @@ public interface FlightService {
     FlightDto updateFlight(UUID id, FlightDto dto);
     FlightDto getFlight(UUID id);
     Page<FlightDto> getAllFlights(Pageable pageable);
+    CursorPageDto<FlightDto> getFlightsAfter(String cursor, int size);
     List<FlightDto> searchFlights(String origin, String destination, LocalDateTime date);
+    List<FlightDto> searchFlightsInRange(String origin, String destination, LocalDate from, LocalDate to);
+    List<ConnectionItineraryDto> searchConnections(String origin, String destination, LocalDate date, int maxStops);
     void generateSeatsForFlight(UUID flightId);
     List<SeatDto> getAvailableSeats(UUID flightId);
+    SeatAvailabilityDto getSeatAvailability(UUID flightId);
+    SeatMapDto getSeatMap(UUID flightId);
     boolean reserveSeat(UUID flightId, String seatNumber, UUID bookingId);
-    void releaseSeat(UUID flightId, String seatNumber);
+    boolean reserveSeats(UUID flightId, List<String> seatNumbers, UUID bookingId);
+    List<SeatDto> autoAssignSeats(UUID flightId, int count, SeatClass seatClass, UUID bookingId);
+    void releaseSeat(UUID flightId, String seatNumber, UUID bookingId);
+    int confirmSeats(UUID flightId, UUID bookingId, int expectedSeats);
+    int releaseExpiredHolds(UUID flightId, Collection<String> seatNumbers);
+    Map<UUID, List<String>> findExpiredHolds();
+    int backfillHoldExpiry();
+    int scheduleActiveHolds();
     void updateFlightOccupancy(UUID flightId);
+    List<UUID> findOccupancyDrift();
+    boolean reconcileOccupancy(UUID flightId);
+    int rebuildSearchIndex();
 }
\ No newline at end of file
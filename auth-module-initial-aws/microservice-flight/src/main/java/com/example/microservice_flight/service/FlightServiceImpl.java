@@ -1,20 +1,51 @@
 package com.example.microservice_flight.service;
 
+import com.example.microservice_flight.cache.ReferenceDataLookup;
 import com.example.microservice_flight.dto.*;
+import com.example.microservice_flight.events.FlightEventPublisher;
 import com.example.microservice_flight.model.*;
+import com.example.microservice_flight.pagination.CursorCodec;
+import com.example.microservice_flight.pagination.CursorPages;
 import com.example.microservice_flight.repository.*;
+import com.example.microservice_flight.reservation.SeatHoldTimerWheel;
+import com.example.microservice_flight.seatmap.AdjacentSeatFinder;
+import com.example.microservice_flight.seatmap.FlightSeatAvailability;
+import com.example.microservice_flight.seatmap.SeatAvailabilityCache;
+import com.example.microservice_flight.seatmap.SeatLayout;
+import com.example.microservice_flight.seatmap.SeatLayoutRegistry;
+import com.example.microservice_flight.search.ConnectionFinder;
+import com.example.microservice_flight.search.FlightSearchIndex;
+import com.example.microservice_flight.search.RouteGraphRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
+import java.util.zip.CRC32;
 
 @Slf4j
 @RequiredArgsConstructor
@@ -25,28 +56,51 @@ public class FlightServiceImpl implements FlightService {
     private final AircraftRepository aircraftRepository;
     private final RouteRepository routeRepository;
     private final SeatRepository seatRepository;
+    private final SeatBatchRepository seatBatchRepository;
+    private final SeatAvailabilityCache seatAvailabilityCache;
+    private final SeatLayoutRegistry seatLayoutRegistry;
+    private final SeatHoldTimerWheel seatHoldTimerWheel;
+    private final FlightSearchIndex flightSearchIndex;
+    private final ReferenceDataLookup referenceDataLookup;
+    private final RouteGraphRegistry routeGraphRegistry;
+    private final ConnectionFinder connectionFinder;
+    private final FlightArchiveService flightArchiveService;
+    private final FlightEventPublisher flightEventPublisher;
+
+    private static final int HOLD_RELEASE_CHUNK = 500;
+    private static final int MAX_RANGE_DAYS = 31;
+
+    // Modo perezoso: no se crean filas de asientos al crear el vuelo, solo al reservar
+    @Value("${flight.seats.lazy-materialization:false}")
+    private boolean lazySeatMaterialization;
+
+    // Duración del hold: si la reserva no se confirma antes, el asiento vuelve a estar disponible
+    @Value("${flight.seats.hold-lease-minutes:15}")
+    private long holdLeaseMinutes;
+
+    // false = la búsqueda siempre consulta la base de datos
+    @Value("${flight.search-index.enabled:true}")
+    private boolean searchIndexEnabled;
 
     @Override
     @Transactional
     public FlightDto createFlight(FlightDto dto) {
         log.info("Creating flight: {}", dto.getFlightNumber());
 
-        // Verificar si ya existe un vuelo con ese número en fecha similar
-        flightRepository.findByFlightNumber(dto.getFlightNumber())
-                .ifPresent(existing -> {
-                    if (existing.getDepartureTime().toLocalDate().equals(dto.getDepartureTime().toLocalDate())) {
-                        throw new RuntimeException("Flight with this number already exists for this date");
-                    }
-                });
+        // Verificar si ya existe un vuelo con ese número en la misma fecha (el índice único lo garantiza)
+        if (flightRepository.existsByFlightNumberAndDepartureDate(
+                dto.getFlightNumber(), dto.getDepartureTime().toLocalDate())) {
+            throw new RuntimeException("Flight with this number already exists for this date");
+        }
 
-        AircraftEntity aircraft = aircraftRepository.findById(dto.getAircraftId())
+        AircraftDto aircraft = referenceDataLookup.findAircraft(dto.getAircraftId())
                 .orElseThrow(() -> new RuntimeException("Aircraft not found"));
 
         if (aircraft.getStatus() != AircraftStatus.ACTIVE) {
             throw new RuntimeException("Aircraft is not active");
         }
 
-        RouteEntity route = routeRepository.findById(dto.getRouteId())
+        RouteDto route = referenceDataLookup.findRoute(dto.getRouteId())
                 .orElseThrow(() -> new RuntimeException("Route not found"));
 
         if (route.getStatus() != RouteStatus.ACTIVE) {
@@ -55,23 +109,30 @@ public class FlightServiceImpl implements FlightService {
 
         FlightEntity flight = FlightEntity.builder()
                 .flightNumber(dto.getFlightNumber())
-                .aircraft(aircraft)
-                .route(route)
+                .aircraft(aircraftRepository.getReferenceById(aircraft.getId()))
+                .route(routeRepository.getReferenceById(route.getId()))
                 .departureTime(dto.getDepartureTime())
                 .arrivalTime(dto.getArrivalTime())
                 .basePrice(dto.getBasePrice())
-                .availableSeats(aircraft.getTotalSeats())
+                .availableSeats(SeatLayout.Key.of(aircraft).total())
                 .bookedSeats(0)
                 .status(FlightStatus.SCHEDULED)
+                .seatsMaterialized(!lazySeatMaterialization)
                 .build();
 
-        FlightEntity saved = flightRepository.save(flight);
+        // Flush inmediato: los asientos se insertan por JDBC y necesitan la fila del vuelo
+        FlightEntity saved = flightRepository.saveAndFlush(flight);
 
-        // Generar asientos automáticamente
-        generateSeatsForFlight(saved.getId());
+        // Generar asientos automáticamente (en modo perezoso la disponibilidad sale del layout)
+        if (saved.getSeatsMaterialized()) {
+            materializeSeats(saved.getId(), SeatLayout.Key.of(aircraft));
+        }
 
-        log.info("Flight created successfully: {} with {} seats", saved.getId(), aircraft.getTotalSeats());
-        return mapToDto(saved, true);
+        log.info("Flight created successfully: {} with {} seats", saved.getId(), saved.getAvailableSeats());
+        FlightDto created = mapToDto(saved, true);
+        flightSearchIndex.put(created);
+        flightEventPublisher.flightUpdated(created);
+        return created;
     }
 
     @Override
@@ -98,160 +159,466 @@ public class FlightServiceImpl implements FlightService {
 
         if (dto.getStatus() != null) {
             flight.setStatus(dto.getStatus());
+            seatAvailabilityCache.evict(id);
         }
 
         FlightEntity updated = flightRepository.save(flight);
-        return mapToDto(updated, true);
+        FlightDto result = mapToDto(updated, true);
+        flightSearchIndex.put(result);
+        flightEventPublisher.flightUpdated(result);
+        return result;
     }
 
     @Override
     @Transactional(readOnly = true)
     public FlightDto getFlight(UUID id) {
-        FlightEntity flight = flightRepository.findById(id)
+        // Los vuelos salidos hace tiempo ya no están en flights: se responden desde el archivo
+        return flightRepository.findById(id)
+                .map(flight -> mapToDto(flight, true))
+                .or(() -> flightArchiveService.findArchivedFlight(id))
                 .orElseThrow(() -> new RuntimeException("Flight not found"));
-        return mapToDto(flight, true);
     }
 
     @Override
     @Transactional(readOnly = true)
     public Page<FlightDto> getAllFlights(Pageable pageable) {
-        return flightRepository.findAll(pageable)
-                .map(f -> mapToDto(f, false));
+        return flightRepository.findAllFlightViews(pageable)
+                .map(view -> mapViewToDto(view, false));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDto<FlightDto> getFlightsAfter(String cursor, int size) {
+        Limit limit = Limit.of(CursorPages.validateSize(size) + 1);
+
+        List<FlightRepository.FlightView> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = flightRepository.findFlightViewsOrdered(limit);
+        } else {
+            String[] key = CursorCodec.decode(cursor, 2);
+            rows = flightRepository.findFlightViewsAfter(parseDateTime(key[0]), parseUuid(key[1]), limit);
+        }
+
+        return CursorPages.of(rows, size,
+                view -> mapViewToDto(view, false),
+                view -> CursorCodec.encode(view.getDepartureTime(), view.getId()));
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<FlightDto> searchFlights(String origin, String destination, LocalDateTime date) {
+        if (searchIndexEnabled && flightSearchIndex.isLoaded()) {
+            return flightSearchIndex.search(origin, destination, date.toLocalDate());
+        }
+
         LocalDateTime startDate = date.withHour(0).withMinute(0).withSecond(0);
         LocalDateTime endDate = date.withHour(23).withMinute(59).withSecond(59);
 
-        List<FlightEntity> flights = flightRepository.searchFlights(origin, destination, startDate, endDate);
+        // Solo vuelos con asientos disponibles; avión y ruta llegan en la misma consulta
+        return flightRepository.searchFlightViews(origin, destination, startDate, endDate).stream()
+                .map(view -> mapViewToDto(view, true))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<FlightDto> searchFlightsInRange(String origin, String destination, LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("Range end date must not be before start date");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_RANGE_DAYS) {
+            throw new IllegalArgumentException("Date range cannot exceed " + MAX_RANGE_DAYS + " days");
+        }
 
-        return flights.stream()
-                .filter(f -> f.getAvailableSeats() > 0) // Solo vuelos con asientos disponibles
-                .map(f -> mapToDto(f, true))
+        if (searchIndexEnabled && flightSearchIndex.isLoaded()) {
+            return flightSearchIndex.searchRange(origin, destination, from, to);
+        }
+
+        // Una sola consulta para toda la ventana en lugar de una por día
+        return flightRepository.searchFlightViewsInRange(
+                        origin, destination, from.atStartOfDay(), to.plusDays(1).atStartOfDay()).stream()
+                .map(view -> mapViewToDto(view, true))
                 .collect(Collectors.toList());
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<ConnectionItineraryDto> searchConnections(String origin, String destination, LocalDate date, int maxStops) {
+        FlightSearchIndex departures = searchIndexEnabled && flightSearchIndex.isLoaded()
+                ? flightSearchIndex
+                : new FlightSearchIndex();
+
+        if (departures != flightSearchIndex) {
+            // Sin índice: una sola consulta con todas las salidas que pueden formar parte del itinerario
+            departures.replaceAll(flightRepository.findFlightViewsDepartingBetween(
+                            date.atStartOfDay(), date.plusDays(maxStops + 2L).atStartOfDay()).stream()
+                    .map(view -> mapViewToDto(view, true))
+                    .collect(Collectors.toList()));
+        }
+
+        return connectionFinder.find(routeGraphRegistry.current(), departures::search,
+                origin, destination, date, maxStops);
+    }
+
     @Override
     @Transactional
     public void generateSeatsForFlight(UUID flightId) {
         FlightEntity flight = flightRepository.findById(flightId)
                 .orElseThrow(() -> new RuntimeException("Flight not found"));
 
-        if (!seatRepository.findByFlightId(flightId).isEmpty()) {
+        if (seatRepository.existsByFlightId(flightId)) {
             log.warn("Flight {} already has seats generated", flightId);
             return;
         }
 
-        AircraftEntity aircraft = flight.getAircraft();
-        List<SeatEntity> seats = new ArrayList<>();
+        materializeSeats(flightId, SeatLayout.Key.of(aircraftOf(flight)));
+    }
 
-        int firstClassSeats = aircraft.getFirstClassSeats() != null ? aircraft.getFirstClassSeats() : 0;
-        int businessSeats = aircraft.getBusinessSeats() != null ? aircraft.getBusinessSeats() : 0;
-        int economySeats = aircraft.getEconomySeats() != null ? aircraft.getEconomySeats() : 0;
+    private void materializeSeats(UUID flightId, SeatLayout.Key layoutKey) {
+        SeatLayout layout = seatLayoutRegistry.layoutFor(layoutKey);
 
-        if (firstClassSeats > 0) {
-            char[] firstColumns = {'A', 'B', 'C', 'D'};
-            int firstRows = (int) Math.ceil(firstClassSeats / 4.0);
+        if (layout.size() == 0) {
+            throw new RuntimeException("No seats were generated for flight " + flightId);
+        }
+
+        int inserted = seatBatchRepository.insertSeats(flightId, layout);
+        log.info("Generated {} seats for flight {}", inserted, flightId);
+    }
 
-            for (int row = 1; row <= firstRows && seats.size() < firstClassSeats; row++) {
-                for (char col : firstColumns) {
-                    if (seats.size() >= firstClassSeats) break;
-                    seats.add(createSeat(flight, row + String.valueOf(col), SeatClass.FIRST_CLASS));
-                }
+    @Override
+    public List<SeatDto> getAvailableSeats(UUID flightId) {
+        FlightSeatAvailability availability = seatAvailabilityCache.get(flightId);
+        SeatLayout layout = availability.getLayout();
+        long[] bits = availability.snapshot();
+
+        List<SeatDto> seats = new ArrayList<>(availability.availableCount());
+        for (int ordinal = 0; ordinal < layout.size(); ordinal++) {
+            if ((bits[ordinal >>> 6] & (1L << ordinal)) != 0) {
+                seats.add(SeatDto.builder()
+                        .flightId(flightId)
+                        .seatNumber(layout.seatNumber(ordinal))
+                        .seatClass(layout.seatClass(ordinal))
+                        .status(SeatStatus.AVAILABLE)
+                        .build());
             }
         }
+        return seats;
+    }
 
-        if (businessSeats > 0) {
-            char[] businessColumns = {'A', 'B', 'C', 'D', 'E', 'F'};
-            int startRow = (int) Math.ceil(firstClassSeats / 4.0) + 1;
-            int businessRows = (int) Math.ceil(businessSeats / 6.0);
+    @Override
+    public SeatAvailabilityDto getSeatAvailability(UUID flightId) {
+        FlightSeatAvailability availability = seatAvailabilityCache.get(flightId);
 
-            for (int row = startRow; row < startRow + businessRows && (seats.size() - firstClassSeats) < businessSeats; row++) {
-                for (char col : businessColumns) {
-                    if ((seats.size() - firstClassSeats) >= businessSeats) break;
-                    seats.add(createSeat(flight, row + String.valueOf(col), SeatClass.BUSINESS));
-                }
-            }
+        Map<SeatClass, Integer> byClass = new EnumMap<>(SeatClass.class);
+        for (SeatClass seatClass : SeatClass.values()) {
+            byClass.put(seatClass, availability.availableCount(seatClass));
         }
 
-        if (economySeats > 0) {
-            char[] economyColumns = {'A', 'B', 'C', 'D', 'E', 'F'};
-            int startRow = (int) Math.ceil(firstClassSeats / 4.0) + (int) Math.ceil(businessSeats / 6.0) + 1;
-            int economyRows = (int) Math.ceil(economySeats / 6.0);
+        return SeatAvailabilityDto.builder()
+                .flightId(flightId)
+                .totalSeats(availability.getLayout().size())
+                .availableSeats(availability.availableCount())
+                .availableByClass(byClass)
+                .build();
+    }
 
-            for (int row = startRow; row < startRow + economyRows && (seats.size() - firstClassSeats - businessSeats) < economySeats; row++) {
-                for (char col : economyColumns) {
-                    if ((seats.size() - firstClassSeats - businessSeats) >= economySeats) break;
-                    seats.add(createSeat(flight, row + String.valueOf(col), SeatClass.ECONOMY));
-                }
-            }
+    @Override
+    public SeatMapDto getSeatMap(UUID flightId) {
+        FlightSeatAvailability availability = seatAvailabilityCache.get(flightId);
+        SeatLayout layout = availability.getLayout();
+        long[] bits = availability.snapshot();
+
+        List<SeatMapDto.Cabin> cabins = new ArrayList<>();
+        for (SeatClass seatClass : new SeatClass[]{SeatClass.FIRST_CLASS, SeatClass.BUSINESS, SeatClass.ECONOMY}) {
+            SeatLayout.Range range = layout.range(seatClass);
+            if (range.size() == 0) continue;
+            cabins.add(SeatMapDto.Cabin.builder()
+                    .seatClass(seatClass)
+                    .firstRow(layout.row(range.start()))
+                    .lastRow(layout.row(range.end() - 1))
+                    .columns(new String(layout.columns(seatClass)))
+                    .seats(range.size())
+                    .build());
         }
 
-        if (seats.isEmpty()) {
-            throw new RuntimeException("No seats were generated for flight " + flightId);
+        byte[] bitmap = new byte[(layout.size() + 7) >>> 3];
+        for (int i = 0; i < bitmap.length; i++) {
+            bitmap[i] = (byte) (bits[i >>> 3] >>> ((i & 7) * 8));
         }
 
-        seatRepository.saveAll(seats);
-        log.info("Generated {} seats for flight {}", seats.size(), flightId);
+        CRC32 crc = new CRC32();
+        crc.update(layout.getKey().toString().getBytes(StandardCharsets.UTF_8));
+        crc.update(bitmap);
+
+        return SeatMapDto.builder()
+                .flightId(flightId)
+                .totalSeats(layout.size())
+                .availableSeats(availability.availableCount())
+                .cabins(cabins)
+                .availability(Base64.getEncoder().encodeToString(bitmap))
+                .version(Long.toHexString(crc.getValue()))
+                .build();
     }
 
+    @Override
+    @Transactional
+    public boolean reserveSeat(UUID flightId, String seatNumber, UUID bookingId) {
+        LocalDateTime reservedAt = LocalDateTime.now();
+        LocalDateTime holdExpiresAt = reservedAt.plusMinutes(holdLeaseMinutes);
+
+        // Un solo UPDATE condicional: si dos peticiones compiten, solo una ve 1 fila afectada
+        int updated = seatRepository.reserveIfAvailable(flightId, seatNumber, bookingId, reservedAt, holdExpiresAt);
 
-    private SeatEntity createSeat(FlightEntity flight, String seatNumber, SeatClass seatClass) {
-        return SeatEntity.builder()
-                .flight(flight)
-                .seatNumber(seatNumber)
-                .seatClass(seatClass)
-                .status(SeatStatus.AVAILABLE)
-                .build();
+        if (updated == 0) {
+            if (seatRepository.existsByFlightIdAndSeatNumber(flightId, seatNumber)) {
+                log.warn("Seat {} is not available for flight {}", seatNumber, flightId);
+                return false;
+            }
+            if (!isLazyFlight(flightId) || seatAvailabilityCache.layout(flightId).ordinalOf(seatNumber) < 0) {
+                throw new RuntimeException("Seat not found");
+            }
+            if (!insertReservedSeats(flightId, List.of(seatNumber), bookingId, reservedAt, holdExpiresAt)) {
+                log.warn("Seat {} is not available for flight {}", seatNumber, flightId);
+                return false;
+            }
+        }
+
+        flightRepository.adjustOccupancy(flightId, 1);
+        flightSearchIndex.adjustOccupancy(flightId, 1);
+        flightEventPublisher.occupancyChanged(flightId);
+        seatAvailabilityCache.markReserved(flightId, List.of(seatNumber));
+        scheduleHoldExpiry(flightId, List.of(seatNumber), holdExpiresAt);
+
+        log.info("Seat {} reserved for booking {}", seatNumber, bookingId);
+        return true;
     }
 
     @Override
-    @Transactional(readOnly = true)
-    public List<SeatDto> getAvailableSeats(UUID flightId) {
-        return seatRepository.findByFlightIdAndStatus(flightId, SeatStatus.AVAILABLE)
-                .stream()
-                .map(this::mapSeatToDto)
-                .collect(Collectors.toList());
+    @Transactional
+    public boolean reserveSeats(UUID flightId, List<String> seatNumbers, UUID bookingId) {
+        LocalDateTime reservedAt = LocalDateTime.now();
+        return reserveSeats(flightId, seatNumbers, bookingId, reservedAt, reservedAt.plusMinutes(holdLeaseMinutes));
+    }
+
+    // Quien llama fija los instantes para poder devolver exactamente lo que quedó escrito en las filas
+    private boolean reserveSeats(UUID flightId, List<String> seatNumbers, UUID bookingId,
+                                 LocalDateTime reservedAt, LocalDateTime holdExpiresAt) {
+        Set<String> requested = new LinkedHashSet<>(seatNumbers);
+        if (requested.size() != seatNumbers.size()) {
+            throw new IllegalArgumentException("Duplicate seat numbers in reservation request");
+        }
+
+        int updated = seatRepository.reserveAllIfAvailable(flightId, requested, bookingId, reservedAt, holdExpiresAt);
+
+        if (updated < requested.size() && isLazyFlight(flightId)) {
+            updated += reserveUntouchedSeats(flightId, requested, updated, bookingId, reservedAt, holdExpiresAt);
+        }
+
+        // Todo o nada: si algún asiento ya estaba tomado se deshace la reserva completa
+        if (updated != requested.size()) {
+            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+            log.warn("Batch reservation for booking {} on flight {} failed: {} of {} seats available",
+                    bookingId, flightId, updated, requested.size());
+            return false;
+        }
+
+        flightRepository.adjustOccupancy(flightId, updated);
+        flightSearchIndex.adjustOccupancy(flightId, updated);
+        flightEventPublisher.occupancyChanged(flightId);
+        seatAvailabilityCache.markReserved(flightId, requested);
+        scheduleHoldExpiry(flightId, requested, holdExpiresAt);
+
+        log.info("Seats {} reserved for booking {}", requested, bookingId);
+        return true;
     }
 
     @Override
     @Transactional
-    public boolean reserveSeat(UUID flightId, String seatNumber, UUID bookingId) {
-        SeatEntity seat = seatRepository.findByFlightIdAndSeatNumber(flightId, seatNumber)
-                .orElseThrow(() -> new RuntimeException("Seat not found"));
+    public List<SeatDto> autoAssignSeats(UUID flightId, int count, SeatClass seatClass, UUID bookingId) {
+        if (count < 1) {
+            throw new IllegalArgumentException("Seat count must be at least 1");
+        }
+
+        FlightSeatAvailability availability = seatAvailabilityCache.get(flightId);
+        SeatLayout layout = availability.getLayout();
+        List<Integer> ordinals = AdjacentSeatFinder.find(layout, availability.snapshot(), seatClass, count);
+
+        if (ordinals.isEmpty()) {
+            throw new IllegalStateException("Not enough " + seatClass + " seats available on flight " + flightId);
+        }
+
+        List<String> seatNumbers = ordinals.stream()
+                .map(layout::seatNumber)
+                .collect(Collectors.toList());
+
+        LocalDateTime reservedAt = LocalDateTime.now();
+        LocalDateTime holdExpiresAt = reservedAt.plusMinutes(holdLeaseMinutes);
+        if (!reserveSeats(flightId, seatNumbers, bookingId, reservedAt, holdExpiresAt)) {
+            // El bitmap estaba desactualizado (p. ej. reserva en otra instancia): se recarga en el siguiente intento
+            seatAvailabilityCache.evict(flightId);
+            throw new IllegalStateException("Seats " + seatNumbers + " were taken concurrently, please retry");
+        }
+
+        return ordinals.stream()
+                .map(ordinal -> SeatDto.builder()
+                        .flightId(flightId)
+                        .seatNumber(layout.seatNumber(ordinal))
+                        .seatClass(layout.seatClass(ordinal))
+                        .status(SeatStatus.RESERVED)
+                        .reservedByBookingId(bookingId)
+                        .reservedAt(reservedAt)
+                        .holdExpiresAt(holdExpiresAt)
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    private LocalDateTime parseDateTime(String value) {
+        try {
+            return LocalDateTime.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    private UUID parseUuid(String value) {
+        try {
+            return UUID.fromString(value);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    private boolean isLazyFlight(UUID flightId) {
+        return !flightRepository.findSeatsMaterializedById(flightId).orElse(true);
+    }
+
+    // Asientos que nunca se han tocado no tienen fila: se insertan directamente como RESERVED
+    private int reserveUntouchedSeats(UUID flightId, Set<String> requested, int updated, UUID bookingId,
+                                      LocalDateTime reservedAt, LocalDateTime holdExpiresAt) {
+        List<String> existing = seatRepository.findExistingSeatNumbers(flightId, requested);
+        if (existing.size() != updated) {
+            return 0; // Alguna fila existente ya estaba tomada
+        }
 
-        if (seat.getStatus() != SeatStatus.AVAILABLE) {
-            log.warn("Seat {} is not available for flight {}", seatNumber, flightId);
+        SeatLayout layout = seatAvailabilityCache.layout(flightId);
+        List<String> untouched = requested.stream()
+                .filter(seatNumber -> !existing.contains(seatNumber))
+                .filter(seatNumber -> layout.ordinalOf(seatNumber) >= 0)
+                .collect(Collectors.toList());
+
+        return insertReservedSeats(flightId, untouched, bookingId, reservedAt, holdExpiresAt) ? untouched.size() : 0;
+    }
+
+    // La restricción única (flight_id, seat_number) decide quién gana si dos peticiones insertan a la vez
+    private boolean insertReservedSeats(UUID flightId, List<String> seatNumbers, UUID bookingId,
+                                        LocalDateTime reservedAt, LocalDateTime holdExpiresAt) {
+        try {
+            seatBatchRepository.insertReservedSeats(flightId, seatAvailabilityCache.layout(flightId),
+                    seatNumbers, bookingId, reservedAt, holdExpiresAt);
+            return true;
+        } catch (DuplicateKeyException e) {
             return false;
         }
+    }
 
-        seat.setStatus(SeatStatus.RESERVED);
-        seat.setReservedByBookingId(bookingId);
-        seat.setReservedAt(LocalDateTime.now());
-        seatRepository.save(seat);
+    @Override
+    @Transactional
+    public void releaseSeat(UUID flightId, String seatNumber, UUID bookingId) {
+        // Solo se libera si el asiento sigue a nombre de la reserva: tras vencer el hold puede ser ya de otra
+        int updated = seatRepository.releaseIfHeld(flightId, seatNumber, bookingId);
 
-        updateFlightOccupancy(flightId);
+        if (updated == 0) {
+            if (!seatRepository.existsByFlightIdAndSeatNumber(flightId, seatNumber)) {
+                throw new RuntimeException("Seat not found");
+            }
+            log.debug("Seat {} on flight {} is not held by booking {}", seatNumber, flightId, bookingId);
+            return;
+        }
 
-        log.info("Seat {} reserved for booking {}", seatNumber, bookingId);
-        return true;
+        flightRepository.adjustOccupancy(flightId, -1);
+        flightSearchIndex.adjustOccupancy(flightId, -1);
+        flightEventPublisher.occupancyChanged(flightId);
+        seatAvailabilityCache.markAvailable(flightId, List.of(seatNumber));
+
+        log.info("Seat {} released for booking {} on flight {}", seatNumber, bookingId, flightId);
+    }
+
+    @Override
+    @Transactional
+    public int confirmSeats(UUID flightId, UUID bookingId, int expectedSeats) {
+        // Los asientos confirmados pasan a OCCUPIED y dejan de tener vencimiento
+        int confirmed = seatRepository.confirmHeldSeats(flightId, bookingId);
+
+        // Todo o nada: si algún hold ya venció no se ocupa ninguno de los asientos de la reserva
+        if (confirmed != expectedSeats) {
+            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+            log.warn("Confirmation of booking {} on flight {} failed: {} of {} seats still held",
+                    bookingId, flightId, confirmed, expectedSeats);
+            return 0;
+        }
+
+        log.info("Confirmed {} seats of booking {} on flight {}", confirmed, bookingId, flightId);
+        return confirmed;
+    }
+
+    @Override
+    @Transactional
+    public int releaseExpiredHolds(UUID flightId, Collection<String> seatNumbers) {
+        LocalDateTime now = LocalDateTime.now();
+        List<String> seats = new ArrayList<>(seatNumbers);
+
+        int released = 0;
+        for (int from = 0; from < seats.size(); from += HOLD_RELEASE_CHUNK) {
+            List<String> chunk = seats.subList(from, Math.min(from + HOLD_RELEASE_CHUNK, seats.size()));
+            released += seatRepository.releaseExpiredHolds(flightId, chunk, now);
+        }
+
+        if (released > 0) {
+            flightRepository.adjustOccupancy(flightId, -released);
+            flightSearchIndex.adjustOccupancy(flightId, -released);
+            flightEventPublisher.occupancyChanged(flightId);
+            // Se recarga el bitmap: solo se sabe cuántas filas cambiaron, no cuáles
+            seatAvailabilityCache.evict(flightId);
+            log.info("Released {} expired seat holds on flight {}", released, flightId);
+        }
+        return released;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<UUID, List<String>> findExpiredHolds() {
+        return seatRepository.findExpiredHolds(LocalDateTime.now()).stream()
+                .collect(Collectors.groupingBy(SeatRepository.SeatHold::getFlightId, LinkedHashMap::new,
+                        Collectors.mapping(SeatRepository.SeatHold::getSeatNumber, Collectors.toList())));
     }
 
     @Override
     @Transactional
-    public void releaseSeat(UUID flightId, String seatNumber) {
-        SeatEntity seat = seatRepository.findByFlightIdAndSeatNumber(flightId, seatNumber)
-                .orElseThrow(() -> new RuntimeException("Seat not found"));
+    public int backfillHoldExpiry() {
+        int backfilled = seatRepository.backfillHoldExpiry(LocalDateTime.now(), holdLeaseMinutes);
+        if (backfilled > 0) {
+            log.info("Backfilled hold expiry of {} seats reserved before holds had a lease", backfilled);
+        }
+        return backfilled;
+    }
 
-        seat.setStatus(SeatStatus.AVAILABLE);
-        seat.setReservedByBookingId(null);
-        seat.setReservedAt(null);
-        seatRepository.save(seat);
+    @Override
+    @Transactional(readOnly = true)
+    public int scheduleActiveHolds() {
+        List<SeatRepository.SeatHold> holds = seatRepository.findActiveHolds();
+        for (SeatRepository.SeatHold hold : holds) {
+            seatHoldTimerWheel.schedule(hold.getFlightId(), List.of(hold.getSeatNumber()), toEpochMillis(hold.getHoldExpiresAt()));
+        }
+        return holds.size();
+    }
 
-        updateFlightOccupancy(flightId);
+    private void scheduleHoldExpiry(UUID flightId, Collection<String> seatNumbers, LocalDateTime holdExpiresAt) {
+        // Si la transacción se deshace la entrada vence sin efecto: la liberación valida el estado en la base de datos
+        seatHoldTimerWheel.schedule(flightId, seatNumbers, toEpochMillis(holdExpiresAt));
+    }
 
-        log.info("Seat {} released for flight {}", seatNumber, flightId);
+    private long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
     }
 
     @Override
@@ -260,15 +627,63 @@ public class FlightServiceImpl implements FlightService {
         FlightEntity flight = flightRepository.findById(flightId)
                 .orElseThrow(() -> new RuntimeException("Flight not found"));
 
-        Integer available = seatRepository.countAvailableSeats(flightId);
-        flight.setAvailableSeats(available);
-        flight.setBookedSeats(flight.getAircraft().getTotalSeats() - available);
+        // Los asientos sin fila (modo perezoso) cuentan como disponibles
+        int booked = seatRepository.countHeldSeats(flightId);
+        flight.setAvailableSeats(SeatLayout.Key.of(aircraftOf(flight)).total() - booked);
+        flight.setBookedSeats(booked);
 
         flightRepository.save(flight);
+        flightSearchIndex.setOccupancy(flightId, flight.getAvailableSeats(), booked);
+        flightEventPublisher.occupancyChanged(flightId);
         log.debug("Updated occupancy for flight {}: {} booked, {} available",
                 flightId, flight.getBookedSeats(), flight.getAvailableSeats());
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<UUID> findOccupancyDrift() {
+        return flightRepository.findOccupancyDrift().stream()
+                .map(drift -> {
+                    log.warn("Occupancy drift on flight {}: stored {} available / {} booked, actual {} / {}",
+                            drift.getFlightId(), drift.getAvailableSeats(), drift.getBookedSeats(),
+                            drift.getActualAvailable(), drift.getActualBooked());
+                    return drift.getFlightId();
+                })
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional
+    public boolean reconcileOccupancy(UUID flightId) {
+        // La desviación se vuelve a comprobar en la propia sentencia: pudo resolverse desde que se detectó
+        if (flightRepository.reconcileOccupancy(flightId.toString()) == 0) {
+            return false;
+        }
+
+        FlightRepository.Occupancy occupancy = flightRepository.findOccupancy(flightId)
+                .orElseThrow(() -> new RuntimeException("Flight not found"));
+        flightSearchIndex.setOccupancy(flightId, occupancy.getAvailableSeats(), occupancy.getBookedSeats());
+        flightEventPublisher.occupancyChanged(flightId);
+        seatAvailabilityCache.evict(flightId);
+        return true;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public int rebuildSearchIndex() {
+        AtomicInteger loaded = new AtomicInteger();
+        // La lectura va dentro de la recarga: los cambios confirmados mientras tanto no se pisan con filas viejas
+        flightSearchIndex.rebuild(() -> {
+            List<FlightDto> scheduled = flightRepository.findFlightViewsByStatus(FlightStatus.SCHEDULED).stream()
+                    .map(view -> mapViewToDto(view, true))
+                    .collect(Collectors.toList());
+            loaded.set(scheduled.size());
+            return scheduled;
+        });
+        log.info("Flight search index loaded with {} scheduled flights", loaded.get());
+        return loaded.get();
+    }
+
     private FlightDto mapToDto(FlightEntity entity, boolean includeRelations) {
         FlightDto dto = FlightDto.builder()
                 .id(entity.getId())
@@ -285,53 +700,65 @@ public class FlightServiceImpl implements FlightService {
                 .build();
 
         if (includeRelations) {
-            dto.setAircraft(mapAircraftToDto(entity.getAircraft()));
-            dto.setRoute(mapRouteToDto(entity.getRoute()));
+            // El id del proxy no inicializa la asociación: avión y ruta salen de la caché
+            dto.setAircraft(referenceDataLookup.findAircraft(entity.getAircraft().getId()).orElse(null));
+            dto.setRoute(referenceDataLookup.findRoute(entity.getRoute().getId()).orElse(null));
         }
 
         return dto;
     }
 
-    private AircraftDto mapAircraftToDto(AircraftEntity entity) {
-        return AircraftDto.builder()
-                .id(entity.getId())
-                .registrationNumber(entity.getRegistrationNumber())
-                .model(entity.getModel())
-                .manufacturer(entity.getManufacturer())
-                .totalSeats(entity.getTotalSeats())
-                .economySeats(entity.getEconomySeats())
-                .businessSeats(entity.getBusinessSeats())
-                .firstClassSeats(entity.getFirstClassSeats())
-                .status(entity.getStatus())
-                .yearManufactured(entity.getYearManufactured())
-                .createdAt(entity.getCreatedAt())
-                .build();
+    private AircraftDto aircraftOf(FlightEntity flight) {
+        return referenceDataLookup.findAircraft(flight.getAircraft().getId())
+                .orElseThrow(() -> new RuntimeException("Aircraft not found"));
     }
 
-    private RouteDto mapRouteToDto(RouteEntity entity) {
-        return RouteDto.builder()
-                .id(entity.getId())
-                .originAirport(entity.getOriginAirport())
-                .destinationAirport(entity.getDestinationAirport())
-                .originCity(entity.getOriginCity())
-                .destinationCity(entity.getDestinationCity())
-                .originCountry(entity.getOriginCountry())
-                .destinationCountry(entity.getDestinationCountry())
-                .distanceKm(entity.getDistanceKm())
-                .estimatedDurationMinutes(entity.getEstimatedDurationMinutes())
-                .status(entity.getStatus())
-                .build();
-    }
+    private FlightDto mapViewToDto(FlightRepository.FlightView view, boolean includeRelations) {
+        int booked = view.getBookedSeats();
+        int available = view.getAvailableSeats();
 
-    private SeatDto mapSeatToDto(SeatEntity entity) {
-        return SeatDto.builder()
-                .id(entity.getId())
-                .flightId(entity.getFlight().getId())
-                .seatNumber(entity.getSeatNumber())
-                .seatClass(entity.getSeatClass())
-                .status(entity.getStatus())
-                .reservedByBookingId(entity.getReservedByBookingId())
-                .reservedAt(entity.getReservedAt())
+        FlightDto dto = FlightDto.builder()
+                .id(view.getId())
+                .flightNumber(view.getFlightNumber())
+                .aircraftId(view.getAircraftId())
+                .routeId(view.getRouteId())
+                .departureTime(view.getDepartureTime())
+                .arrivalTime(view.getArrivalTime())
+                .basePrice(view.getBasePrice())
+                .availableSeats(available)
+                .bookedSeats(booked)
+                .status(view.getStatus())
+                .occupancyRate(available == 0 ? 0.0 : (double) booked / (booked + available))
                 .build();
+
+        if (includeRelations) {
+            dto.setAircraft(AircraftDto.builder()
+                    .id(view.getAircraftId())
+                    .registrationNumber(view.getRegistrationNumber())
+                    .model(view.getAircraftModel())
+                    .manufacturer(view.getManufacturer())
+                    .totalSeats(view.getTotalSeats())
+                    .economySeats(view.getEconomySeats())
+                    .businessSeats(view.getBusinessSeats())
+                    .firstClassSeats(view.getFirstClassSeats())
+                    .status(view.getAircraftStatus())
+                    .yearManufactured(view.getYearManufactured())
+                    .createdAt(view.getAircraftCreatedAt())
+                    .build());
+            dto.setRoute(RouteDto.builder()
+                    .id(view.getRouteId())
+                    .originAirport(view.getOriginAirport())
+                    .destinationAirport(view.getDestinationAirport())
+                    .originCity(view.getOriginCity())
+                    .destinationCity(view.getDestinationCity())
+                    .originCountry(view.getOriginCountry())
+                    .destinationCountry(view.getDestinationCountry())
+                    .distanceKm(view.getDistanceKm())
+                    .estimatedDurationMinutes(view.getEstimatedDurationMinutes())
+                    .status(view.getRouteStatus())
+                    .build());
+        }
+
+        return dto;
     }
-}
\ No newline at end of file
+}
@@ -1,5 +1,6 @@
 package com.example.microservice_flight.service;
 
+import com.example.microservice_flight.dto.CursorPageDto;
 import com.example.microservice_flight.dto.RouteDto;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -11,5 +12,6 @@ public interface RouteService {
     RouteDto updateRoute(UUID id, RouteDto dto);
     RouteDto getRoute(UUID id);
     Page<RouteDto> getAllRoutes(Pageable pageable);
+    CursorPageDto<RouteDto> getRoutesAfter(String cursor, int size);
     void deleteRoute(UUID id);
 }
\ No newline at end of file
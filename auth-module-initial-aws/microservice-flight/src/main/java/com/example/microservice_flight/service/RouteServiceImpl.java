@@ -1,15 +1,22 @@
 package com.example.microservice_flight.service;
 
+import com.example.microservice_flight.cache.ReferenceDataLookup;
+import com.example.microservice_flight.dto.CursorPageDto;
 import com.example.microservice_flight.dto.RouteDto;
 import com.example.microservice_flight.model.RouteEntity;
+import com.example.microservice_flight.pagination.CursorCodec;
+import com.example.microservice_flight.pagination.CursorPages;
 import com.example.microservice_flight.repository.RouteRepository;
+import com.example.microservice_flight.search.RouteGraphRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.UUID;
 
 @Slf4j
@@ -18,6 +25,8 @@ import java.util.UUID;
 public class RouteServiceImpl implements RouteService {
 
     private final RouteRepository routeRepository;
+    private final RouteGraphRegistry routeGraphRegistry;
+    private final ReferenceDataLookup referenceDataLookup;
 
     @Override
     @Transactional
@@ -37,6 +46,7 @@ public class RouteServiceImpl implements RouteService {
                 .build();
 
         RouteEntity saved = routeRepository.save(route);
+        routeGraphRegistry.refreshAfterCommit();
         return mapToDto(saved);
     }
 
@@ -51,15 +61,16 @@ public class RouteServiceImpl implements RouteService {
         }
 
         RouteEntity updated = routeRepository.save(route);
+        referenceDataLookup.evictRoute(id);
+        routeGraphRegistry.refreshAfterCommit();
         return mapToDto(updated);
     }
 
     @Override
     @Transactional(readOnly = true)
     public RouteDto getRoute(UUID id) {
-        RouteEntity route = routeRepository.findById(id)
+        return referenceDataLookup.findRoute(id)
                 .orElseThrow(() -> new RuntimeException("Route not found"));
-        return mapToDto(route);
     }
 
     @Override
@@ -69,10 +80,35 @@ public class RouteServiceImpl implements RouteService {
                 .map(this::mapToDto);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDto<RouteDto> getRoutesAfter(String cursor, int size) {
+        Limit limit = Limit.of(CursorPages.validateSize(size) + 1);
+
+        List<RouteEntity> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = routeRepository.findAllOrdered(limit);
+        } else {
+            String[] key = CursorCodec.decode(cursor, 3);
+            UUID lastId;
+            try {
+                lastId = UUID.fromString(key[2]);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            rows = routeRepository.findAfter(key[0], key[1], lastId, limit);
+        }
+
+        return CursorPages.of(rows, size, this::mapToDto,
+                route -> CursorCodec.encode(route.getOriginAirport(), route.getDestinationAirport(), route.getId()));
+    }
+
     @Override
     @Transactional
     public void deleteRoute(UUID id) {
         routeRepository.deleteById(id);
+        referenceDataLookup.evictRoute(id);
+        routeGraphRegistry.refreshAfterCommit();
     }
 
     private RouteDto mapToDto(RouteEntity entity) {
@@ -0,0 +1,140 @@
+package com.example.microservice_flight.benchmark;
+
+import com.example.microservice_flight.dto.FlightDto;
+import com.example.microservice_flight.dto.RouteDto;
+import com.example.microservice_flight.model.FlightStatus;
+import com.example.microservice_flight.search.ConnectionFinder;
+import com.example.microservice_flight.search.FlightSearchIndex;
+import com.example.microservice_flight.search.RouteGraph;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Búsqueda de conexiones (hasta 2 escalas) sobre una red sintética de ~1.000 rutas y ~50.000 vuelos.
+ * No necesita base de datos: mvn test -Dbenchmark=true -Dtest=ConnectionSearchBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(0) // Dentro de surefire el classpath no se puede reproducir en un JVM hijo
+public class ConnectionSearchBenchmark {
+
+    private static final int AIRPORTS = 150;
+    private static final int ROUTES = 1_000;
+    private static final int FLIGHTS_PER_ROUTE = 50;
+    private static final int DAYS = 14;
+    private static final double TARGET_MILLIS = 20.0;
+
+    private RouteGraph graph;
+    private FlightSearchIndex index;
+    private ConnectionFinder finder;
+    private List<String[]> queries;
+    private LocalDate searchDate;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        LocalDate firstDay = LocalDate.now().plusDays(1);
+        searchDate = firstDay.plusDays(DAYS / 2);
+
+        Set<RouteGraph.Leg> legs = new LinkedHashSet<>();
+        while (legs.size() < ROUTES) {
+            int origin = random.nextInt(AIRPORTS);
+            int destination = random.nextInt(AIRPORTS);
+            if (origin != destination) {
+                legs.add(new RouteGraph.Leg(airport(origin), airport(destination)));
+            }
+        }
+        graph = new RouteGraph(legs);
+
+        List<FlightDto> flights = new ArrayList<>(ROUTES * FLIGHTS_PER_ROUTE);
+        for (RouteGraph.Leg leg : legs) {
+            RouteDto route = RouteDto.builder()
+                    .id(UUID.randomUUID())
+                    .originAirport(leg.origin())
+                    .destinationAirport(leg.destination())
+                    .build();
+            for (int i = 0; i < FLIGHTS_PER_ROUTE; i++) {
+                LocalDateTime departure = firstDay.plusDays(i % DAYS)
+                        .atTime(5 + random.nextInt(18), random.nextInt(4) * 15);
+                flights.add(FlightDto.builder()
+                        .id(UUID.randomUUID())
+                        .flightNumber("BM" + flights.size())
+                        .routeId(route.getId())
+                        .departureTime(departure)
+                        .arrivalTime(departure.plusMinutes(60 + random.nextInt(180)))
+                        .basePrice(new BigDecimal("100.00"))
+                        .availableSeats(1 + random.nextInt(180))
+                        .bookedSeats(0)
+                        .status(FlightStatus.SCHEDULED)
+                        .route(route)
+                        .build());
+            }
+        }
+        index = new FlightSearchIndex();
+        index.replaceAll(flights);
+
+        finder = new ConnectionFinder(45, 720, 3, 20);
+
+        queries = new ArrayList<>();
+        for (int i = 0; i < 256; i++) {
+            queries.add(new String[]{airport(random.nextInt(AIRPORTS)), airport(random.nextInt(AIRPORTS))});
+        }
+    }
+
+    @Benchmark
+    public int twoStopSearch() {
+        String[] query = queries.get(next++ & (queries.size() - 1));
+        return finder.find(graph, index::search, query[0], query[1], searchDate, 2).size();
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void connectionSearchStaysUnderTarget() throws Exception {
+        Options options = new OptionsBuilder()
+                .include(ConnectionSearchBenchmark.class.getSimpleName())
+                .build();
+        Collection<RunResult> results = new Runner(options).run();
+
+        for (RunResult result : results) {
+            double millis = result.getPrimaryResult().getScore();
+            System.out.printf("Connection search: %.3f ms/op%n", millis);
+            assertTrue(millis < TARGET_MILLIS, "Connection search took " + millis + " ms/op");
+        }
+    }
+
+    private static String airport(int index) {
+        return String.format("A%03d", index);
+    }
+}
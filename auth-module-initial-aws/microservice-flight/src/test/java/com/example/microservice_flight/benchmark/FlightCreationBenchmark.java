@@ -0,0 +1,120 @@
+package com.example.microservice_flight.benchmark;
+
+import com.example.microservice_flight.dto.FlightDto;
+import com.example.microservice_flight.model.AircraftEntity;
+import com.example.microservice_flight.model.AircraftStatus;
+import com.example.microservice_flight.model.RouteEntity;
+import com.example.microservice_flight.model.RouteStatus;
+import com.example.microservice_flight.repository.AircraftRepository;
+import com.example.microservice_flight.repository.RouteRepository;
+import com.example.microservice_flight.service.FlightService;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Latencia de createFlight (vuelo + generación de asientos) según el tamaño del avión.
+ * Requiere la base de datos local: mvn test -Dbenchmark=true -Dtest=FlightCreationBenchmark
+ */
+@SpringBootTest
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class FlightCreationBenchmark {
+
+    private static final int WARMUP = 3;
+    private static final int MEASURED = 20;
+
+    @Autowired
+    private FlightService flightService;
+
+    @Autowired
+    private AircraftRepository aircraftRepository;
+
+    @Autowired
+    private RouteRepository routeRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @ParameterizedTest
+    @ValueSource(ints = {150, 300, 500})
+    void createFlightLatency(int totalSeats) {
+        String suffix = UUID.randomUUID().toString().substring(0, 6).toUpperCase();
+        int firstClass = 4 * Math.max(1, totalSeats / 40);
+        int business = 6 * Math.max(1, totalSeats / 40);
+
+        AircraftEntity aircraft = aircraftRepository.save(AircraftEntity.builder()
+                .registrationNumber("BENCH-" + totalSeats + "-" + suffix)
+                .model("Benchmark " + totalSeats)
+                .manufacturer("Benchmark")
+                .totalSeats(totalSeats)
+                .firstClassSeats(firstClass)
+                .businessSeats(business)
+                .economySeats(totalSeats - firstClass - business)
+                .status(AircraftStatus.ACTIVE)
+                .build());
+
+        RouteEntity route = routeRepository.save(RouteEntity.builder()
+                .originAirport("GYE")
+                .destinationAirport("UIO")
+                .originCity("Guayaquil")
+                .destinationCity("Quito")
+                .originCountry("Ecuador")
+                .destinationCountry("Ecuador")
+                .distanceKm(270)
+                .estimatedDurationMinutes(55)
+                .status(RouteStatus.ACTIVE)
+                .build());
+
+        List<UUID> created = new ArrayList<>();
+        long[] latencies = new long[MEASURED];
+
+        for (int i = 0; i < WARMUP + MEASURED; i++) {
+            LocalDateTime departure = LocalDateTime.now().plusDays(30 + i);
+            long start = System.nanoTime();
+            FlightDto flight = flightService.createFlight(FlightDto.builder()
+                    .flightNumber("B" + suffix + i)
+                    .aircraftId(aircraft.getId())
+                    .routeId(route.getId())
+                    .departureTime(departure)
+                    .arrivalTime(departure.plusHours(1))
+                    .basePrice(new BigDecimal("120.00"))
+                    .build());
+            long elapsed = System.nanoTime() - start;
+
+            created.add(flight.getId());
+            if (i >= WARMUP) {
+                latencies[i - WARMUP] = elapsed;
+            }
+        }
+
+        Arrays.sort(latencies);
+        System.out.printf("createFlight %d seats: avg %.2f ms, p50 %.2f ms, max %.2f ms%n",
+                totalSeats,
+                Arrays.stream(latencies).average().orElse(0) / 1_000_000.0,
+                latencies[MEASURED / 2] / 1_000_000.0,
+                latencies[MEASURED - 1] / 1_000_000.0);
+
+        Integer seats = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM seats WHERE flight_id = ?", Integer.class, created.get(0).toString());
+        assertEquals(totalSeats, seats);
+
+        for (UUID flightId : created) {
+            jdbcTemplate.update("DELETE FROM seats WHERE flight_id = ?", flightId.toString());
+            jdbcTemplate.update("DELETE FROM flights WHERE id = ?", flightId.toString());
+        }
+        routeRepository.delete(route);
+        aircraftRepository.delete(aircraft);
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.microservice_flight.benchmark;
+
+import com.example.microservice_flight.dto.FlightDto;
+import com.example.microservice_flight.model.AircraftEntity;
+import com.example.microservice_flight.model.AircraftStatus;
+import com.example.microservice_flight.model.RouteEntity;
+import com.example.microservice_flight.model.RouteStatus;
+import com.example.microservice_flight.model.SeatEntity;
+import com.example.microservice_flight.model.SeatStatus;
+import com.example.microservice_flight.repository.AircraftRepository;
+import com.example.microservice_flight.repository.FlightRepository;
+import com.example.microservice_flight.repository.RouteRepository;
+import com.example.microservice_flight.repository.SeatRepository;
+import com.example.microservice_flight.service.FlightService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 200 clientes concurrentes compitiendo por los asientos de un mismo vuelo.
+ * Requiere la base de datos local: mvn test -Dbenchmark=true -Dtest=SeatReservationContentionBenchmark
+ */
+@SpringBootTest
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class SeatReservationContentionBenchmark {
+
+    private static final int CLIENTS = 200;
+    private static final int ATTEMPTS_PER_CLIENT = 10;
+
+    @Autowired
+    private FlightService flightService;
+
+    @Autowired
+    private AircraftRepository aircraftRepository;
+
+    @Autowired
+    private RouteRepository routeRepository;
+
+    @Autowired
+    private FlightRepository flightRepository;
+
+    @Autowired
+    private SeatRepository seatRepository;
+
+    @Test
+    void reservationsPerSecondOnOneFlight() throws Exception {
+        String suffix = UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+
+        AircraftEntity aircraft = aircraftRepository.save(AircraftEntity.builder()
+                .registrationNumber("BENCH-" + suffix)
+                .model("A330-300")
+                .manufacturer("Airbus")
+                .totalSeats(300)
+                .firstClassSeats(12)
+                .businessSeats(48)
+                .economySeats(240)
+                .status(AircraftStatus.ACTIVE)
+                .build());
+
+        RouteEntity route = routeRepository.save(RouteEntity.builder()
+                .originAirport("GYE")
+                .destinationAirport("UIO")
+                .originCity("Guayaquil")
+                .destinationCity("Quito")
+                .originCountry("Ecuador")
+                .destinationCountry("Ecuador")
+                .distanceKm(270)
+                .estimatedDurationMinutes(55)
+                .status(RouteStatus.ACTIVE)
+                .build());
+
+        FlightDto flight = flightService.createFlight(FlightDto.builder()
+                .flightNumber("BN" + suffix)
+                .aircraftId(aircraft.getId())
+                .routeId(route.getId())
+                .departureTime(LocalDateTime.now().plusDays(30))
+                .arrivalTime(LocalDateTime.now().plusDays(30).plusHours(1))
+                .basePrice(new BigDecimal("120.00"))
+                .build());
+
+        UUID flightId = flight.getId();
+        List<String> seatNumbers = seatRepository.findByFlightId(flightId).stream()
+                .map(SeatEntity::getSeatNumber)
+                .toList();
+
+        AtomicInteger won = new AtomicInteger();
+        AtomicInteger lost = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(CLIENTS);
+
+        for (int client = 0; client < CLIENTS; client++) {
+            pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < ATTEMPTS_PER_CLIENT; i++) {
+                    String seat = seatNumbers.get(ThreadLocalRandom.current().nextInt(seatNumbers.size()));
+                    if (flightService.reserveSeat(flightId, seat, UUID.randomUUID())) {
+                        won.incrementAndGet();
+                    } else {
+                        lost.incrementAndGet();
+                    }
+                }
+                return null;
+            });
+        }
+
+        long startedAt = System.nanoTime();
+        start.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(5, TimeUnit.MINUTES));
+        double seconds = (System.nanoTime() - startedAt) / 1_000_000_000.0;
+
+        int attempts = CLIENTS * ATTEMPTS_PER_CLIENT;
+        System.out.printf("Seat contention: %d clients, %d attempts, %d won, %d lost, %.1f attempts/s, %.1f reservations/s%n",
+                CLIENTS, attempts, won.get(), lost.get(), attempts / seconds, won.get() / seconds);
+
+        // Ningún asiento puede venderse dos veces
+        long reservedInDb = seatRepository.findByFlightIdAndStatus(flightId, SeatStatus.RESERVED).size();
+        assertEquals(won.get(), reservedInDb);
+        assertEquals(attempts, won.get() + lost.get());
+
+        seatRepository.deleteAll(seatRepository.findByFlightId(flightId));
+        flightRepository.deleteById(flightId);
+        routeRepository.delete(route);
+        aircraftRepository.delete(aircraft);
+    }
+}
@@ -0,0 +1,160 @@
+package com.example.microservice_flight.repository;
+
+import com.example.microservice_flight.dto.FlightDto;
+import com.example.microservice_flight.model.AircraftEntity;
+import com.example.microservice_flight.model.AircraftStatus;
+import com.example.microservice_flight.model.FlightEntity;
+import com.example.microservice_flight.model.FlightStatus;
+import com.example.microservice_flight.model.RouteEntity;
+import com.example.microservice_flight.model.RouteStatus;
+import com.example.microservice_flight.service.FlightService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * La búsqueda y el listado de vuelos deben ejecutar el mismo número de sentencias SQL
+ * sin importar cuántos vuelos devuelven (sin N+1 sobre avión y ruta).
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "flight.search-index.enabled=false" // Se mide la consulta de respaldo, no el índice en memoria
+})
+class FlightQueryCountTest {
+
+    @Autowired
+    private FlightService flightService;
+
+    @Autowired
+    private FlightRepository flightRepository;
+
+    @Autowired
+    private AircraftRepository aircraftRepository;
+
+    @Autowired
+    private RouteRepository routeRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final List<FlightEntity> flights = new ArrayList<>();
+    private final List<RouteEntity> routes = new ArrayList<>();
+    private final List<AircraftEntity> aircrafts = new ArrayList<>();
+    private Statistics statistics;
+    private LocalDateTime departureDay;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        departureDay = LocalDateTime.now().plusYears(5).withHour(0).withMinute(0).withSecond(0).withNano(0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        flightRepository.deleteAll(flights);
+        routeRepository.deleteAll(routes);
+        aircraftRepository.deleteAll(aircrafts);
+    }
+
+    @Test
+    void searchQueryCountDoesNotGrowWithResults() {
+        String suffix = UUID.randomUUID().toString().substring(0, 4).toUpperCase();
+        RouteEntity small = createRoute("Q" + suffix, "S" + suffix);
+        RouteEntity large = createRoute("Q" + suffix, "L" + suffix);
+
+        createFlights(small, 1);
+        createFlights(large, 10);
+
+        long singleResult = countStatements(() ->
+                assertEquals(1, flightService.searchFlights("Q" + suffix, "S" + suffix, departureDay).size()));
+        long manyResults = countStatements(() -> {
+            List<FlightDto> found = flightService.searchFlights("Q" + suffix, "L" + suffix, departureDay);
+            assertEquals(10, found.size());
+            found.forEach(flight -> {
+                assertNotNull(flight.getAircraft());
+                assertNotNull(flight.getRoute());
+            });
+        });
+
+        assertEquals(1, singleResult);
+        assertEquals(singleResult, manyResults);
+    }
+
+    @Test
+    void listingQueryCountDoesNotGrowWithPageSize() {
+        String suffix = UUID.randomUUID().toString().substring(0, 4).toUpperCase();
+        createFlights(createRoute("P" + suffix, "D" + suffix), 10);
+
+        // Ambas páginas quedan incompletas respecto al total, así que las dos ejecutan también el COUNT
+        long smallPage = countStatements(() -> flightService.getAllFlights(PageRequest.of(0, 2)));
+        long largePage = countStatements(() -> flightService.getAllFlights(PageRequest.of(0, 8)));
+
+        assertEquals(smallPage, largePage);
+    }
+
+    private long countStatements(Runnable action) {
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void createFlights(RouteEntity route, int count) {
+        AircraftEntity aircraft = aircraftRepository.save(AircraftEntity.builder()
+                .registrationNumber("QC-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase())
+                .model("A320")
+                .manufacturer("Airbus")
+                .totalSeats(180)
+                .firstClassSeats(0)
+                .businessSeats(12)
+                .economySeats(168)
+                .status(AircraftStatus.ACTIVE)
+                .build());
+        aircrafts.add(aircraft);
+
+        for (int i = 0; i < count; i++) {
+            LocalDateTime departure = departureDay.plusHours(6).plusMinutes(i);
+            flights.add(flightRepository.save(FlightEntity.builder()
+                    .flightNumber("QC" + UUID.randomUUID().toString().substring(0, 6).toUpperCase())
+                    .aircraft(aircraft)
+                    .route(route)
+                    .departureTime(departure)
+                    .arrivalTime(departure.plusHours(1))
+                    .basePrice(new BigDecimal("99.00"))
+                    .availableSeats(180)
+                    .bookedSeats(0)
+                    .status(FlightStatus.SCHEDULED)
+                    .build()));
+        }
+    }
+
+    private RouteEntity createRoute(String origin, String destination) {
+        RouteEntity route = routeRepository.save(RouteEntity.builder()
+                .originAirport(origin)
+                .destinationAirport(destination)
+                .originCity("Origin " + origin)
+                .destinationCity("Destination " + destination)
+                .originCountry("Ecuador")
+                .destinationCountry("Ecuador")
+                .distanceKm(300)
+                .estimatedDurationMinutes(60)
+                .status(RouteStatus.ACTIVE)
+                .build());
+        routes.add(route);
+        return route;
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.microservice_flight.reservation;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SeatHoldTimerWheelTest {
+
+    private static final long TICK_MILLIS = 1000;
+
+    @Test
+    void holdWithDeadlineInsideATickExpiresOnTheNextTick() {
+        SeatHoldTimerWheel wheel = new SeatHoldTimerWheel(new SimpleMeterRegistry(), TICK_MILLIS, 512);
+        long tickStart = (System.currentTimeMillis() / TICK_MILLIS + 10) * TICK_MILLIS;
+        UUID flightId = UUID.randomUUID();
+
+        wheel.schedule(flightId, List.of("12A"), tickStart + 500);
+
+        // El tick que contiene el plazo se recorre antes de que venza: el hold no sale todavía
+        assertTrue(wheel.advance(tickStart + 200).isEmpty());
+
+        List<SeatHoldTimerWheel.Hold> expired = wheel.advance(tickStart + TICK_MILLIS + 200);
+        assertEquals(List.of(new SeatHoldTimerWheel.Hold(flightId, "12A", tickStart + 500)), expired);
+        assertEquals(0, wheel.pendingCount());
+    }
+
+    @Test
+    void holdWithDeadlineOnATickBoundaryExpiresOnThatTick() {
+        SeatHoldTimerWheel wheel = new SeatHoldTimerWheel(new SimpleMeterRegistry(), TICK_MILLIS, 512);
+        long tickStart = (System.currentTimeMillis() / TICK_MILLIS + 10) * TICK_MILLIS;
+
+        wheel.schedule(UUID.randomUUID(), List.of("3C", "3D"), tickStart);
+
+        assertEquals(2, wheel.advance(tickStart).size());
+        assertEquals(0, wheel.pendingCount());
+    }
+}
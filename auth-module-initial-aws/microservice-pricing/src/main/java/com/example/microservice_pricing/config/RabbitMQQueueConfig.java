@@ -0,0 +1,38 @@
+package com.example.microservice_pricing.config;
+
+import org.springframework.amqp.core.*;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class RabbitMQQueueConfig {
+
+    public static final String FLIGHT_EVENTS_QUEUE = "pricing.flight.events.queue";
+    public static final String FLIGHT_EXCHANGE = "flight.exchange";
+    public static final String FLIGHT_ROUTING_KEY = "flight.#";
+
+    @Bean
+    public Queue flightEventsQueue() {
+        return QueueBuilder.durable(FLIGHT_EVENTS_QUEUE).build();
+    }
+
+    @Bean
+    public Exchange flightExchange() {
+        return ExchangeBuilder.topicExchange(FLIGHT_EXCHANGE).durable(true).build();
+    }
+
+    @Bean
+    public Binding flightEventsBinding() {
+        return BindingBuilder
+                .bind(flightEventsQueue())
+                .to(flightExchange())
+                .with(FLIGHT_ROUTING_KEY)
+                .noargs();
+    }
+
+    @Bean
+    public Jackson2JsonMessageConverter messageConverter() {
+        return new Jackson2JsonMessageConverter();
+    }
+}
@@ -1,7 +1,9 @@
 package com.example.microservice_pricing.controller;
 
+import com.example.microservice_pricing.dto.BatchPriceRequestDto;
 import com.example.microservice_pricing.dto.FlightPriceDto;
 import com.example.microservice_pricing.service.PricingService;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
@@ -9,6 +11,7 @@ import org.springframework.web.bind.annotation.*;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 
 @RequiredArgsConstructor
@@ -29,6 +32,12 @@ public class PricingController {
                 flightId, basePrice, occupancyRate, departureTime));
     }
 
+    // Un resultado de búsqueda completo en una sola llamada; la respuesta respeta el orden de la petición
+    @PostMapping("/calculate-batch")
+    public ResponseEntity<List<FlightPriceDto>> calculatePrices(@Valid @RequestBody BatchPriceRequestDto request) {
+        return ResponseEntity.ok(pricingService.calculatePrices(request.getFlights()));
+    }
+
     @PostMapping("/recalculate-all")
     public ResponseEntity<Void> recalculateAll() {
         pricingService.recalculateAllFlightPrices();
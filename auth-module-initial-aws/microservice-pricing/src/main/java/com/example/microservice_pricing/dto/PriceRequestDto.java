@@ -0,0 +1,31 @@
+package com.example.microservice_pricing.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PriceRequestDto {
+    @NotNull
+    private UUID flightId;
+
+    @NotNull
+    private BigDecimal basePrice;
+
+    @NotNull
+    @PositiveOrZero
+    private Double occupancyRate;
+
+    @NotNull
+    private LocalDateTime departureTime;
+}
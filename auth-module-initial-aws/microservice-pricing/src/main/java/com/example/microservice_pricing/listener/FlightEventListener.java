@@ -0,0 +1,27 @@
+package com.example.microservice_pricing.listener;
+
+import com.example.microservice_pricing.config.RabbitMQQueueConfig;
+import com.example.microservice_pricing.service.PricingService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.UUID;
+
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class FlightEventListener {
+
+    private final PricingService pricingService;
+
+    // Cualquier cambio de ocupación, horario o estado invalida el precio cacheado del vuelo
+    @RabbitListener(queues = RabbitMQQueueConfig.FLIGHT_EVENTS_QUEUE)
+    public void handleFlightEvent(Map<String, Object> event) {
+        UUID flightId = UUID.fromString((String) event.get("flightId"));
+        log.debug("Received flight event for flight {}", flightId);
+        pricingService.evictFlightPrice(flightId);
+    }
+}
@@ -1,9 +1,11 @@
 package com.example.microservice_pricing.service;
 
 import com.example.microservice_pricing.dto.FlightPriceDto;
+import com.example.microservice_pricing.dto.PriceRequestDto;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 
 public interface PricingService {
@@ -14,5 +16,9 @@ public interface PricingService {
             LocalDateTime departureTime
     );
 
+    List<FlightPriceDto> calculatePrices(List<PriceRequestDto> requests);
+
     void recalculateAllFlightPrices();
+
+    void evictFlightPrice(UUID flightId);
 }
\ No newline at end of file
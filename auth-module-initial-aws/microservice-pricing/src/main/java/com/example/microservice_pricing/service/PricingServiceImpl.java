@@ -1,12 +1,17 @@
 package com.example.microservice_pricing.service;
 
 import com.example.microservice_pricing.dto.FlightPriceDto;
+import com.example.microservice_pricing.dto.PriceRequestDto;
 import com.example.microservice_pricing.model.PriceHistoryEntity;
 import com.example.microservice_pricing.repository.PriceHistoryRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.SessionCallback;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -14,7 +19,13 @@ import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 @Slf4j
 @RequiredArgsConstructor
@@ -22,7 +33,7 @@ import java.util.UUID;
 public class PricingServiceImpl implements PricingService {
 
     private final PriceHistoryRepository priceHistoryRepository;
-    private final RedisTemplate<String, Object> redisTemplate;
+    private final RedisTemplate<String, FlightPriceDto> priceRedisTemplate;
 
     @Value("${pricing.calculation.base-multiplier:1.0}")
     private Double baseMultiplier;
@@ -39,7 +50,11 @@ public class PricingServiceImpl implements PricingService {
     @Value("${pricing.calculation.days-before-medium-price:30}")
     private Integer daysBeforeMediumPrice;
 
+    @Value("${pricing.cache.flush-batch-size:500}")
+    private Integer flushBatchSize;
+
     private static final Duration PRICE_CACHE_TTL = Duration.ofMinutes(10);
+    private static final String PRICE_KEY_PREFIX = "price:flight:";
 
     @Override
     @Transactional
@@ -49,8 +64,8 @@ public class PricingServiceImpl implements PricingService {
             Double occupancyRate,
             LocalDateTime departureTime) {
 
-        String cacheKey = "price:flight:" + flightId;
-        FlightPriceDto cached = (FlightPriceDto) redisTemplate.opsForValue().get(cacheKey);
+        String cacheKey = cacheKey(flightId);
+        FlightPriceDto cached = priceRedisTemplate.opsForValue().get(cacheKey);
 
         if (cached != null) {
             log.debug("Price cache hit for flight: {}", flightId);
@@ -59,6 +74,111 @@ public class PricingServiceImpl implements PricingService {
 
         log.debug("Calculating price for flight: {}", flightId);
 
+        PricedFlight priced = price(flightId, basePrice, occupancyRate, departureTime);
+        priceHistoryRepository.save(priced.history());
+        FlightPriceDto result = priced.price();
+
+        priceRedisTemplate.opsForValue().set(cacheKey, result, PRICE_CACHE_TTL);
+        log.info("Price calculated and cached for flight {}: {} ({})",
+                flightId, result.getCurrentPrice(), result.getPriceLevel());
+
+        return result;
+    }
+
+    @Override
+    @Transactional
+    public List<FlightPriceDto> calculatePrices(List<PriceRequestDto> requests) {
+        // Un vuelo repetido en la petición se calcula una sola vez
+        Map<UUID, PriceRequestDto> byFlight = new LinkedHashMap<>();
+        requests.forEach(request -> byFlight.putIfAbsent(request.getFlightId(), request));
+
+        List<UUID> flightIds = new ArrayList<>(byFlight.keySet());
+        List<String> keys = flightIds.stream().map(this::cacheKey).toList();
+
+        // Un solo MGET para todo el lote
+        List<FlightPriceDto> cached = priceRedisTemplate.opsForValue().multiGet(keys);
+
+        Map<UUID, FlightPriceDto> prices = new HashMap<>();
+        Map<String, FlightPriceDto> misses = new LinkedHashMap<>();
+        List<PriceHistoryEntity> history = new ArrayList<>();
+
+        for (int i = 0; i < flightIds.size(); i++) {
+            UUID flightId = flightIds.get(i);
+            FlightPriceDto hit = cached != null ? cached.get(i) : null;
+            if (hit != null) {
+                prices.put(flightId, hit);
+                continue;
+            }
+
+            PriceRequestDto request = byFlight.get(flightId);
+            PricedFlight priced = price(flightId, request.getBasePrice(),
+                    request.getOccupancyRate(), request.getDepartureTime());
+            prices.put(flightId, priced.price());
+            misses.put(keys.get(i), priced.price());
+            history.add(priced.history());
+        }
+
+        if (!misses.isEmpty()) {
+            priceHistoryRepository.saveAll(history);
+            cacheAll(misses);
+        }
+
+        log.debug("Batch pricing: {} flights, {} cache hits, {} calculated",
+                flightIds.size(), flightIds.size() - misses.size(), misses.size());
+
+        return requests.stream()
+                .map(request -> prices.get(request.getFlightId()))
+                .collect(Collectors.toList());
+    }
+
+    // SET con TTL por clave (MSET no admite expiración), enviados en un único pipeline
+    private void cacheAll(Map<String, FlightPriceDto> prices) {
+        priceRedisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) {
+                RedisOperations<String, FlightPriceDto> ops = (RedisOperations<String, FlightPriceDto>) operations;
+                prices.forEach((key, price) -> ops.opsForValue().set(key, price, PRICE_CACHE_TTL));
+                return null;
+            }
+        });
+    }
+
+    @Override
+    public void recalculateAllFlightPrices() {
+        log.info("Starting recalculation of all flight prices...");
+        long removed = unlinkMatching(PRICE_KEY_PREFIX + "*");
+        log.info("Price cache cleared ({} entries) - prices will be recalculated on next request", removed);
+    }
+
+    @Override
+    public void evictFlightPrice(UUID flightId) {
+        priceRedisTemplate.unlink(cacheKey(flightId));
+    }
+
+    // SCAN por cursor en lugar de KEYS (que bloquea Redis durante todo el recorrido) y un UNLINK por lote
+    private long unlinkMatching(String pattern) {
+        long removed = 0;
+        List<String> batch = new ArrayList<>(flushBatchSize);
+        ScanOptions options = ScanOptions.scanOptions().match(pattern).count(flushBatchSize).build();
+        try (Cursor<String> cursor = priceRedisTemplate.scan(options)) {
+            while (cursor.hasNext()) {
+                batch.add(cursor.next());
+                if (batch.size() == flushBatchSize) {
+                    priceRedisTemplate.unlink(batch);
+                    removed += batch.size();
+                    batch.clear();
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            priceRedisTemplate.unlink(batch);
+            removed += batch.size();
+        }
+        return removed;
+    }
+
+    private PricedFlight price(UUID flightId, BigDecimal basePrice, Double occupancyRate, LocalDateTime departureTime) {
         int daysUntilDeparture = (int) Duration.between(LocalDateTime.now(), departureTime).toDays();
 
         if (daysUntilDeparture < 0) {
@@ -95,8 +215,6 @@ public class PricingServiceImpl implements PricingService {
                 .daysUntilDeparture(daysUntilDeparture)
                 .build();
 
-        priceHistoryRepository.save(history);
-
         String priceLevel = determinePriceLevel(multiplier);
 
         FlightPriceDto result = FlightPriceDto.builder()
@@ -108,17 +226,11 @@ public class PricingServiceImpl implements PricingService {
                 .priceLevel(priceLevel)
                 .build();
 
-        redisTemplate.opsForValue().set(cacheKey, result, PRICE_CACHE_TTL);
-        log.info("Price calculated and cached for flight {}: {} ({})", flightId, calculatedPrice, priceLevel);
-
-        return result;
+        return new PricedFlight(result, history);
     }
 
-    @Override
-    public void recalculateAllFlightPrices() {
-        log.info("Starting recalculation of all flight prices...");
-        redisTemplate.keys("price:flight:*").forEach(key -> redisTemplate.delete(key));
-        log.info("Price cache cleared - prices will be recalculated on next request");
+    private String cacheKey(UUID flightId) {
+        return PRICE_KEY_PREFIX + flightId;
     }
 
     private String determinePriceLevel(double multiplier) {
@@ -126,4 +238,7 @@ public class PricingServiceImpl implements PricingService {
         if (multiplier >= 1.2) return "MEDIUM";
         return "LOW";
     }
+
+    private record PricedFlight(FlightPriceDto price, PriceHistoryEntity history) {
+    }
 }
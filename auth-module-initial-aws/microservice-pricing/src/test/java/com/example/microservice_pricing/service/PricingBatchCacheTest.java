@@ -0,0 +1,65 @@
+package com.example.microservice_pricing.service;
+
+import com.example.microservice_pricing.dto.FlightPriceDto;
+import com.example.microservice_pricing.dto.PriceRequestDto;
+import com.example.microservice_pricing.repository.PriceHistoryRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Un lote de precios pasa por Redis y vuelve como FlightPriceDto: la segunda llamada sale entera de caché
+ * y no vuelve a escribir historial.
+ */
+@SpringBootTest
+class PricingBatchCacheTest {
+
+    @Autowired
+    private PricingService pricingService;
+
+    @Autowired
+    private PriceHistoryRepository priceHistoryRepository;
+
+    private final List<UUID> flightIds = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        flightIds.forEach(flightId -> {
+            pricingService.evictFlightPrice(flightId);
+            priceHistoryRepository.deleteAll(priceHistoryRepository.findByFlightIdOrderByCreatedAtDesc(flightId));
+        });
+    }
+
+    @Test
+    void secondBatchIsServedFromRedis() {
+        List<PriceRequestDto> requests = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            UUID flightId = UUID.randomUUID();
+            flightIds.add(flightId);
+            requests.add(PriceRequestDto.builder()
+                    .flightId(flightId)
+                    .basePrice(new BigDecimal("150.00"))
+                    .occupancyRate(0.1 * i)
+                    .departureTime(LocalDateTime.now().plusDays(3 + 10L * i))
+                    .build());
+        }
+
+        List<FlightPriceDto> first = pricingService.calculatePrices(requests);
+        List<FlightPriceDto> second = pricingService.calculatePrices(requests);
+
+        assertEquals(first, second);
+        for (UUID flightId : flightIds) {
+            assertEquals(1, priceHistoryRepository.findByFlightIdOrderByCreatedAtDesc(flightId).size(),
+                    "Flight " + flightId + " was priced more than once");
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.microservice_search.cache;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Nombres de las etiquetas con las que se registran las entradas de búsqueda para invalidarlas de forma selectiva.
+ */
+public final class CacheTags {
+
+    private CacheTags() {
+    }
+
+    public static String flight(UUID flightId) {
+        return "flight:" + flightId;
+    }
+
+    public static String route(String origin, String destination) {
+        return "route:" + origin + ":" + destination;
+    }
+
+    public static String date(LocalDate date) {
+        return "date:" + date;
+    }
+}
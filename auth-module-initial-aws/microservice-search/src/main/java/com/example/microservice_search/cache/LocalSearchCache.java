@@ -0,0 +1,96 @@
+package com.example.microservice_search.cache;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Nivel L1 en proceso: LRU acotada por peso total (no por número de entradas) y con vida corta por entrada.
+ * El peso de una entrada lo fija quien la guarda; una entrada más pesada que el máximo no se guarda.
+ * Los valores se comparten entre hilos y se tratan como inmutables.
+ */
+public class LocalSearchCache {
+
+    private final long maxWeight;
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private long weight;
+    private long evictions;
+
+    public LocalSearchCache(long maxWeight) {
+        this.maxWeight = maxWeight;
+    }
+
+    public synchronized Object get(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAtNanos() - System.nanoTime() <= 0) {
+            remove(key);
+            return null;
+        }
+        return entry.value();
+    }
+
+    public synchronized void put(String key, Object value, int entryWeight, long ttlNanos) {
+        if (entryWeight > maxWeight) {
+            remove(key);
+            return;
+        }
+        Entry previous = entries.put(key, new Entry(value, entryWeight, System.nanoTime() + ttlNanos));
+        if (previous != null) {
+            weight -= previous.weight();
+        }
+        weight += entryWeight;
+
+        // Se expulsan las menos usadas hasta volver a caber
+        Iterator<Map.Entry<String, Entry>> eldest = entries.entrySet().iterator();
+        while (weight > maxWeight && eldest.hasNext()) {
+            Map.Entry<String, Entry> candidate = eldest.next();
+            if (candidate.getKey().equals(key)) {
+                continue;
+            }
+            weight -= candidate.getValue().weight();
+            eldest.remove();
+            evictions++;
+        }
+    }
+
+    public synchronized void remove(String key) {
+        Entry removed = entries.remove(key);
+        if (removed != null) {
+            weight -= removed.weight();
+        }
+    }
+
+    public synchronized void removeAll(Collection<String> keys) {
+        keys.forEach(this::remove);
+    }
+
+    public synchronized void removeByPrefix(String prefix) {
+        Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, Entry> entry = iterator.next();
+            if (entry.getKey().startsWith(prefix)) {
+                weight -= entry.getValue().weight();
+                iterator.remove();
+            }
+        }
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long weight() {
+        return weight;
+    }
+
+    public synchronized long evictions() {
+        return evictions;
+    }
+
+    private record Entry(Object value, int weight, long expiresAtNanos) {
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.microservice_search.cache;
+
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Índice de etiquetas en Redis: por cada etiqueta un SET con las claves cacheadas que dependen de ella.
+ * Invalidar una etiqueta borra exactamente esas claves con UNLINK (la memoria se libera fuera del hilo de Redis),
+ * sin recorrer el keyspace con KEYS. Los SET de etiquetas caducan solos poco después que la entrada más larga.
+ */
+public class RedisTagIndex {
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final String tagPrefix;
+    private final long tagTtlSeconds;
+    private final int batchSize;
+
+    public RedisTagIndex(RedisTemplate<String, Object> redisTemplate, StringRedisTemplate stringRedisTemplate,
+                         String tagPrefix, Duration tagTtl, int batchSize) {
+        this.redisTemplate = redisTemplate;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.tagPrefix = tagPrefix;
+        this.tagTtlSeconds = tagTtl.toSeconds();
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Guarda el valor y lo registra en sus etiquetas en un único pipeline.
+     */
+    public void set(String key, Object value, Duration ttl, Collection<String> tags) {
+        @SuppressWarnings("unchecked")
+        RedisSerializer<Object> valueSerializer = (RedisSerializer<Object>) redisTemplate.getValueSerializer();
+        byte[] rawKey = RedisSerializer.string().serialize(key);
+        byte[] rawValue = valueSerializer.serialize(value);
+
+        // El valor usa el serializador JSON del template; claves y miembros de los SET van como texto plano
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            connection.stringCommands().set(rawKey, rawValue, Expiration.from(ttl),
+                    RedisStringCommands.SetOption.upsert());
+            for (String tag : tags) {
+                byte[] rawTag = RedisSerializer.string().serialize(tagKey(tag));
+                connection.setCommands().sAdd(rawTag, rawKey);
+                connection.keyCommands().expire(rawTag, tagTtlSeconds);
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Borra todas las claves registradas en la etiqueta y devuelve las que se borraron.
+     */
+    public List<String> invalidate(String tag) {
+        String tagKey = tagKey(tag);
+        List<String> removed = new ArrayList<>();
+        // SPOP por lotes: cada clave sale del índice en el mismo paso en que se borra,
+        // así una entrada registrada durante la invalidación no se pierde del índice
+        List<String> batch = stringRedisTemplate.opsForSet().pop(tagKey, batchSize);
+        while (batch != null && !batch.isEmpty()) {
+            stringRedisTemplate.unlink(batch);
+            removed.addAll(batch);
+            batch = stringRedisTemplate.opsForSet().pop(tagKey, batchSize);
+        }
+        return removed;
+    }
+
+    /**
+     * Borra las claves registradas en todas las etiquetas a la vez (intersección de los SET).
+     * Los miembros quedan en los SET hasta que caducan: borrar una clave ya borrada no tiene efecto.
+     */
+    public List<String> invalidateAll(Collection<String> tags) {
+        List<String> tagKeys = tags.stream().map(this::tagKey).toList();
+        List<String> keys = new ArrayList<>(stringRedisTemplate.opsForSet().intersect(tagKeys));
+        unlink(keys);
+        return keys;
+    }
+
+    /**
+     * Vaciado completo por patrón con SCAN: Redis nunca se bloquea recorriendo todo el keyspace de una vez.
+     */
+    public long flush(String pattern) {
+        long removed = 0;
+        List<String> batch = new ArrayList<>(batchSize);
+        ScanOptions options = ScanOptions.scanOptions().match(pattern).count(batchSize).build();
+        try (Cursor<String> cursor = stringRedisTemplate.scan(options)) {
+            while (cursor.hasNext()) {
+                batch.add(cursor.next());
+                if (batch.size() == batchSize) {
+                    stringRedisTemplate.unlink(batch);
+                    removed += batch.size();
+                    batch.clear();
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            stringRedisTemplate.unlink(batch);
+            removed += batch.size();
+        }
+        return removed;
+    }
+
+    // Un UNLINK con varias claves por lote, todos los lotes en un pipeline
+    private void unlink(List<String> keys) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (int from = 0; from < keys.size(); from += batchSize) {
+                byte[][] rawKeys = keys.subList(from, Math.min(from + batchSize, keys.size())).stream()
+                        .map(key -> RedisSerializer.string().serialize(key))
+                        .toArray(byte[][]::new);
+                connection.keyCommands().unlink(rawKeys);
+            }
+            return null;
+        });
+    }
+
+    private String tagKey(String tag) {
+        return tagPrefix + tag;
+    }
+}
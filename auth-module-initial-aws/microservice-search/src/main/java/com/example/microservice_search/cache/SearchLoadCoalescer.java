@@ -0,0 +1,161 @@
+package com.example.microservice_search.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Agrupa las cargas concurrentes de una misma clave tras un fallo de caché (single-flight).
+ * En la instancia solo un hilo ejecuta la carga y el resto espera su resultado. Entre instancias,
+ * el hilo que carga toma antes un lock corto en Redis; si otra instancia ya lo tiene, se espera a que
+ * el resultado aparezca en Redis y, pasado el plazo, se carga igualmente para no dejar la búsqueda colgada.
+ */
+@Slf4j
+@Component
+public class SearchLoadCoalescer {
+
+    private static final String LOCK_PREFIX = "search:lock:";
+    private static final RedisScript<Long> RELEASE_LOCK = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class);
+
+    private final SearchResultCache searchResultCache;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ConcurrentHashMap<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final boolean distributed;
+    private final Duration lockTtl;
+    private final long waitNanos;
+    private final long pollMillis;
+
+    private final Counter leaderLoads;
+    private final Counter coalescedLoads;
+    private final Counter remoteLoads;
+    private final Counter lockTimeouts;
+
+    public SearchLoadCoalescer(
+            SearchResultCache searchResultCache,
+            StringRedisTemplate stringRedisTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${search.coalescing.distributed:true}") boolean distributed,
+            @Value("${search.coalescing.lock-ttl-ms:8000}") long lockTtlMillis,
+            @Value("${search.coalescing.wait-ms:3000}") long waitMillis,
+            @Value("${search.coalescing.poll-interval-ms:50}") long pollMillis) {
+        this.searchResultCache = searchResultCache;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.distributed = distributed;
+        this.lockTtl = Duration.ofMillis(lockTtlMillis);
+        this.waitNanos = TimeUnit.MILLISECONDS.toNanos(waitMillis);
+        this.pollMillis = pollMillis;
+
+        this.leaderLoads = loads(meterRegistry, "loaded");
+        this.coalescedLoads = loads(meterRegistry, "coalesced");
+        this.remoteLoads = loads(meterRegistry, "remote");
+        this.lockTimeouts = loads(meterRegistry, "lock-timeout");
+    }
+
+    /**
+     * Devuelve el resultado de la carga de la clave. El loader debe dejar el resultado en caché:
+     * es lo que leen las otras instancias que esperan el lock.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T load(String key, Supplier<T> loader) {
+        CompletableFuture<Object> call = new CompletableFuture<>();
+        CompletableFuture<Object> running = inFlight.putIfAbsent(key, call);
+        if (running != null) {
+            coalescedLoads.increment();
+            return (T) await(running);
+        }
+
+        try {
+            T result = distributed ? loadWithLock(key, loader) : loadLocally(loader);
+            call.complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, call);
+        }
+    }
+
+    private <T> T loadLocally(Supplier<T> loader) {
+        leaderLoads.increment();
+        return loader.get();
+    }
+
+    private <T> T loadWithLock(String key, Supplier<T> loader) {
+        String lockKey = LOCK_PREFIX + key;
+        String token = UUID.randomUUID().toString();
+        long deadline = System.nanoTime() + waitNanos;
+
+        while (true) {
+            if (Boolean.TRUE.equals(stringRedisTemplate.opsForValue().setIfAbsent(lockKey, token, lockTtl))) {
+                try {
+                    // Otra instancia pudo llenar la caché entre el fallo y el lock
+                    T cached = searchResultCache.peek(key);
+                    if (cached != null) {
+                        remoteLoads.increment();
+                        return cached;
+                    }
+                    return loadLocally(loader);
+                } finally {
+                    // Solo se borra el lock propio: si caducó durante la carga puede ser ya de otra instancia
+                    stringRedisTemplate.execute(RELEASE_LOCK, List.of(lockKey), token);
+                }
+            }
+
+            T loaded = searchResultCache.peek(key);
+            if (loaded != null) {
+                remoteLoads.increment();
+                return loaded;
+            }
+            if (System.nanoTime() - deadline >= 0) {
+                lockTimeouts.increment();
+                log.warn("Timed out waiting for another instance to load {}, loading it here", key);
+                return loadLocally(loader);
+            }
+            sleep();
+        }
+    }
+
+    private void sleep() {
+        try {
+            Thread.sleep(pollMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a search load", e);
+        }
+    }
+
+    // Quien espera recibe el mismo resultado o la misma excepción que el hilo que carga
+    private static Object await(CompletableFuture<Object> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static Counter loads(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("search.cache.loads")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
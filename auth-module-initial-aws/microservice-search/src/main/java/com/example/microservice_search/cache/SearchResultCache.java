@@ -0,0 +1,199 @@
+package com.example.microservice_search.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caché de resultados de búsqueda en dos niveles: L1 en proceso (vida corta) delante de Redis (L2).
+ * Cada entrada se registra en Redis bajo sus etiquetas (vuelos, ruta, fechas) para poder invalidar solo lo afectado.
+ * Las invalidaciones se aplican en la L1 local, en Redis y se anuncian por pub/sub para que el resto
+ * de instancias limpie su L1. Si se pierde un mensaje, la vida corta de la L1 acota cuánto dura el dato viejo.
+ */
+@Slf4j
+@Component
+public class SearchResultCache implements MessageListener {
+
+    public static final String INVALIDATION_CHANNEL = "search:cache:invalidate";
+    private static final String SEPARATOR = "|";
+    private static final String KEYS = "K";
+    private static final String PREFIX = "P";
+    private static final String TAG_PREFIX = "search:tag:";
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final LocalSearchCache local;
+    private final RedisTagIndex tagIndex;
+    private final long localTtlNanos;
+    private final String instanceId = UUID.randomUUID().toString();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    private final AtomicLong l1Hits = new AtomicLong();
+    private final AtomicLong l1Misses = new AtomicLong();
+    private final AtomicLong l2Hits = new AtomicLong();
+    private final AtomicLong l2Misses = new AtomicLong();
+
+    public SearchResultCache(
+            RedisTemplate<String, Object> redisTemplate,
+            StringRedisTemplate stringRedisTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${search.l1-cache.max-weight:50000}") long maxWeight,
+            @Value("${search.l1-cache.ttl-seconds:30}") long ttlSeconds,
+            @Value("${search.cache-tags.ttl-seconds:600}") long tagTtlSeconds,
+            @Value("${search.cache-tags.batch-size:500}") int tagBatchSize) {
+        this.redisTemplate = redisTemplate;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.local = new LocalSearchCache(maxWeight);
+        this.tagIndex = new RedisTagIndex(redisTemplate, stringRedisTemplate, TAG_PREFIX,
+                Duration.ofSeconds(tagTtlSeconds), tagBatchSize);
+        this.localTtlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+
+        registerLevel(meterRegistry, "l1", l1Hits, l1Misses);
+        registerLevel(meterRegistry, "l2", l2Hits, l2Misses);
+        Gauge.builder("search.cache.l1.weight", local, LocalSearchCache::weight)
+                .register(meterRegistry);
+        Gauge.builder("search.cache.l1.size", local, LocalSearchCache::size)
+                .register(meterRegistry);
+        FunctionCounter.builder("search.cache.l1.evictions", local, LocalSearchCache::evictions)
+                .register(meterRegistry);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T get(String key) {
+        Object value = local.get(key);
+        if (value != null) {
+            l1Hits.incrementAndGet();
+            return (T) value;
+        }
+        l1Misses.incrementAndGet();
+
+        long generation = invalidations.get();
+        value = redisTemplate.opsForValue().get(key);
+        if (value == null) {
+            l2Misses.incrementAndGet();
+            return null;
+        }
+        l2Hits.incrementAndGet();
+
+        // Si hubo una invalidación mientras se leía Redis, el valor puede ser anterior a ella: no se sube a L1
+        if (generation == invalidations.get()) {
+            local.put(key, value, weigh(value), localTtlNanos);
+        }
+        return (T) value;
+    }
+
+    /**
+     * Lectura directa de Redis que no cuenta en las métricas: para quien espera a que otra instancia cargue la clave.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T peek(String key) {
+        return (T) redisTemplate.opsForValue().get(key);
+    }
+
+    public void put(String key, Object value, Duration ttl, Collection<String> tags) {
+        tagIndex.set(key, value, ttl, tags);
+        local.put(key, value, weigh(value), Math.min(localTtlNanos, ttl.toNanos()));
+    }
+
+    /**
+     * Borra de los dos niveles las entradas registradas en la etiqueta y avisa al resto de instancias.
+     */
+    public int invalidateTag(String tag) {
+        return invalidateKeys(tagIndex.invalidate(tag));
+    }
+
+    /**
+     * Borra las entradas registradas a la vez en todas las etiquetas (por ejemplo ruta y fecha).
+     */
+    public int invalidateTags(Collection<String> tags) {
+        return invalidateKeys(tagIndex.invalidateAll(tags));
+    }
+
+    /**
+     * Borra de los dos niveles las claves que empiezan por el prefijo y avisa al resto de instancias.
+     * Los SET de etiquetas no se tocan: caducan solos y borrar claves ya inexistentes no tiene efecto.
+     */
+    public void invalidatePrefix(String prefix) {
+        // Primero Redis: una lectura de L2 que empezó antes del borrado no llega a subir a L1
+        tagIndex.flush(prefix + "*");
+        invalidations.incrementAndGet();
+        local.removeByPrefix(prefix);
+        publish(PREFIX, prefix);
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int separator = body.indexOf(SEPARATOR);
+        if (separator < 0) {
+            log.warn("Ignoring malformed search cache invalidation: {}", body);
+            return;
+        }
+        // La instancia que publica ya limpió su L1 antes de anunciarlo
+        if (body.substring(0, separator).equals(instanceId)) {
+            return;
+        }
+        String[] parts = body.substring(separator + 1).split("\\" + SEPARATOR, 2);
+        if (parts.length < 2) {
+            log.warn("Ignoring malformed search cache invalidation: {}", body);
+            return;
+        }
+        invalidations.incrementAndGet();
+        if (KEYS.equals(parts[0])) {
+            local.removeAll(List.of(parts[1].split("\n")));
+        } else {
+            local.removeByPrefix(parts[1]);
+        }
+    }
+
+    private int invalidateKeys(List<String> keys) {
+        if (keys.isEmpty()) {
+            return 0;
+        }
+        invalidations.incrementAndGet();
+        local.removeAll(keys);
+        publish(KEYS, String.join("\n", keys));
+        return keys.size();
+    }
+
+    // Formato del mensaje: <instancia>|<K claves separadas por salto de línea | P prefijo>
+    private void publish(String type, String payload) {
+        stringRedisTemplate.convertAndSend(INVALIDATION_CHANNEL, instanceId + SEPARATOR + type + SEPARATOR + payload);
+    }
+
+    // El peso es el número de elementos del resultado: una ruta con cien vuelos ocupa más que una con dos
+    private static int weigh(Object value) {
+        return value instanceof Collection<?> collection ? Math.max(1, collection.size()) : 1;
+    }
+
+    private static void registerLevel(MeterRegistry meterRegistry, String level, AtomicLong hits, AtomicLong misses) {
+        FunctionCounter.builder("search.cache.gets", hits, AtomicLong::get)
+                .tag("level", level).tag("result", "hit")
+                .register(meterRegistry);
+        FunctionCounter.builder("search.cache.gets", misses, AtomicLong::get)
+                .tag("level", level).tag("result", "miss")
+                .register(meterRegistry);
+        Gauge.builder("search.cache.hit.ratio", () -> {
+                    long hit = hits.get();
+                    long total = hit + misses.get();
+                    return total == 0 ? 0.0 : (double) hit / total;
+                })
+                .tag("level", level)
+                .register(meterRegistry);
+    }
+}
@@ -1,13 +1,17 @@
 package com.example.microservice_search.client;
 
+import com.example.microservice_search.dto.BatchPriceRequestDto;
 import com.example.microservice_search.dto.FlightPriceDto;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 
 @FeignClient(
@@ -24,4 +28,8 @@ public interface PricingClient {
             @RequestParam Double occupancyRate,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime departureTime
     );
+
+    // Precios de todo un resultado de búsqueda en una llamada; mismo orden que la petición
+    @PostMapping("/api/pricing/calculate-batch")
+    List<FlightPriceDto> calculatePrices(@RequestBody BatchPriceRequestDto request);
 }
@@ -1,5 +1,6 @@
 package com.example.microservice_search.config;
 
+import com.example.microservice_search.cache.SearchResultCache;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
@@ -10,6 +11,8 @@ import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
@@ -47,4 +50,14 @@ public class RedisConfig {
         template.afterPropertiesSet();
         return template;
     }
-}
\ No newline at end of file
+
+    // Invalidaciones de la L1 publicadas por otras instancias de search
+    @Bean
+    public RedisMessageListenerContainer searchCacheInvalidationContainer(RedisConnectionFactory connectionFactory,
+                                                                          SearchResultCache searchResultCache) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(searchResultCache, new ChannelTopic(SearchResultCache.INVALIDATION_CHANNEL));
+        return container;
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.microservice_search.controller;
 
+import com.example.microservice_search.dto.FareCalendarDayDto;
 import com.example.microservice_search.dto.FlightSearchRequestDto;
 import com.example.microservice_search.dto.FlightSearchResponseDto;
 import com.example.microservice_search.service.SearchService;
@@ -12,6 +13,7 @@ import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.UUID;
 
 @Slf4j
 @RequiredArgsConstructor
@@ -48,9 +50,35 @@ public class SearchController {
         return ResponseEntity.ok(searchService.searchFlights(request));
     }
 
+    @GetMapping("/calendar")
+    public ResponseEntity<List<FareCalendarDayDto>> getFareCalendar(
+            @RequestParam String origin,
+            @RequestParam String destination,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(defaultValue = "3") Integer flexDays,
+            @RequestParam(defaultValue = "1") Integer passengers) {
+        log.info("Fare calendar: {} to {} around {} (+/-{} days)", origin, destination, date, flexDays);
+        return ResponseEntity.ok(searchService.getFareCalendar(origin, destination, date, flexDays, passengers));
+    }
+
     @DeleteMapping("/cache")
     public ResponseEntity<Void> clearCache() {
         searchService.clearCache();
         return ResponseEntity.noContent().build();
     }
+
+    @DeleteMapping("/cache/flights/{flightId}")
+    public ResponseEntity<Void> evictFlight(@PathVariable UUID flightId) {
+        searchService.evictFlight(flightId);
+        return ResponseEntity.noContent().build();
+    }
+
+    @DeleteMapping("/cache/routes")
+    public ResponseEntity<Void> evictRoute(
+            @RequestParam String origin,
+            @RequestParam String destination,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        searchService.evictRoute(origin, destination, date);
+        return ResponseEntity.noContent().build();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,16 @@
+package com.example.microservice_search.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchPriceRequestDto {
+    private List<PriceRequestDto> flights;
+}
@@ -0,0 +1,29 @@
+package com.example.microservice_search.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FareCalendarDayDto {
+
+    private LocalDate date;
+
+    // Vuelo más barato del día (null si no hay vuelos con asientos suficientes)
+    private UUID flightId;
+    private String flightNumber;
+    private LocalDateTime departureTime;
+    private BigDecimal lowestPrice;
+    private String priceLevel;
+
+    private Integer flightsAvailable;
+}
@@ -0,0 +1,21 @@
+package com.example.microservice_search.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PriceRequestDto {
+    private UUID flightId;
+    private BigDecimal basePrice;
+    private Double occupancyRate;
+    private LocalDateTime departureTime;
+}
@@ -0,0 +1,37 @@
+package com.example.microservice_search.listener;
+
+import com.example.microservice_search.config.RabbitMQQueueConfig;
+import com.example.microservice_search.service.SearchService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class FlightEventListener {
+
+    private final SearchService searchService;
+
+    // Cualquier cambio de ocupación, horario o estado invalida las búsquedas que listan el vuelo.
+    // Si el evento trae ruta y salida, también las de ese día en la ruta, donde el vuelo puede aparecer ahora
+    @RabbitListener(queues = RabbitMQQueueConfig.FLIGHT_EVENTS_QUEUE)
+    public void handleFlightEvent(Map<String, Object> event) {
+        UUID flightId = UUID.fromString((String) event.get("flightId"));
+        log.debug("Received flight event for flight {}", flightId);
+        searchService.evictFlight(flightId);
+
+        Object origin = event.get("originAirport");
+        Object destination = event.get("destinationAirport");
+        Object departureTime = event.get("departureTime");
+        if (origin != null && destination != null && departureTime != null) {
+            searchService.evictRoute((String) origin, (String) destination,
+                    LocalDateTime.parse((String) departureTime).toLocalDate());
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.microservice_search.pricing;
+
+import com.example.microservice_search.client.PricingClient;
+import com.example.microservice_search.dto.BatchPriceRequestDto;
+import com.example.microservice_search.dto.FlightPriceDto;
+import com.example.microservice_search.dto.FlightSearchResultDto;
+import com.example.microservice_search.dto.PriceRequestDto;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutorService;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Precios de un resultado de búsqueda con una sola llamada batch a microservice-pricing.
+ * La llamada corre en un pool acotado (límite de llamadas simultáneas por instancia) y con plazo:
+ * si pricing no responde a tiempo el mapa queda vacío y los vuelos se muestran a precio base.
+ */
+@Slf4j
+@Component
+public class SearchPricing {
+
+    private final PricingClient pricingClient;
+    private final ExecutorService executor;
+    private final long deadlineNanos;
+
+    public SearchPricing(
+            PricingClient pricingClient,
+            @Value("${search.pricing.concurrency:16}") int concurrency,
+            @Value("${search.pricing.queue-capacity:512}") int queueCapacity,
+            @Value("${search.pricing.deadline-ms:1500}") long deadlineMillis) {
+        this.pricingClient = pricingClient;
+        this.deadlineNanos = TimeUnit.MILLISECONDS.toNanos(deadlineMillis);
+
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(
+                concurrency, concurrency, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                threadFactory(),
+                new ThreadPoolExecutor.AbortPolicy());
+        pool.allowCoreThreadTimeOut(true);
+
+        // Las llamadas Feign reenvían el JWT del usuario: el contexto de seguridad viaja con cada tarea
+        this.executor = new DelegatingSecurityContextExecutorService(pool);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public Map<UUID, FlightPriceDto> priceAll(Collection<FlightSearchResultDto> flights) {
+        if (flights.isEmpty()) {
+            return Map.of();
+        }
+
+        List<PriceRequestDto> requests = flights.stream()
+                .map(flight -> PriceRequestDto.builder()
+                        .flightId(flight.getId())
+                        .basePrice(flight.getBasePrice())
+                        .occupancyRate(flight.getOccupancyRate())
+                        .departureTime(flight.getDepartureTime())
+                        .build())
+                .toList();
+
+        Future<List<FlightPriceDto>> call;
+        try {
+            call = executor.submit(() -> pricingClient.calculatePrices(new BatchPriceRequestDto(requests)));
+        } catch (RejectedExecutionException e) {
+            // Pool saturado: mejor precio base que bloquear la búsqueda
+            log.warn("Pricing pool saturated, returning base prices for {} flights", flights.size());
+            return Map.of();
+        }
+
+        try {
+            List<FlightPriceDto> prices = call.get(deadlineNanos, TimeUnit.NANOSECONDS);
+            Map<UUID, FlightPriceDto> byFlight = new HashMap<>();
+            for (FlightPriceDto price : prices) {
+                if (price != null) {
+                    byFlight.put(price.getFlightId(), price);
+                }
+            }
+            return byFlight;
+        } catch (TimeoutException e) {
+            call.cancel(true);
+            log.warn("Pricing did not answer within the deadline, returning base prices for {} flights",
+                    flights.size());
+        } catch (ExecutionException e) {
+            log.error("Error calculating prices for {} flights: {}", flights.size(), e.getCause().getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            call.cancel(true);
+        }
+        return Map.of();
+    }
+
+    private static ThreadFactory threadFactory() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "search-pricing-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
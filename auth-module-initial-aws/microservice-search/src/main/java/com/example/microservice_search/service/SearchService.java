@@ -1,11 +1,18 @@
 package com.example.microservice_search.service;
 
+import com.example.microservice_search.dto.FareCalendarDayDto;
 import com.example.microservice_search.dto.FlightSearchRequestDto;
 import com.example.microservice_search.dto.FlightSearchResponseDto;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.UUID;
 
 public interface SearchService {
     List<FlightSearchResponseDto> searchFlights(FlightSearchRequestDto request);
+    List<FareCalendarDayDto> getFareCalendar(String origin, String destination, LocalDate date,
+                                             int flexDays, int passengers);
     void clearCache();
+    void evictFlight(UUID flightId);
+    void evictRoute(String origin, String destination, LocalDate date);
 }
\ No newline at end of file
@@ -1,19 +1,27 @@
 package com.example.microservice_search.service;
 
+import com.example.microservice_search.cache.CacheTags;
+import com.example.microservice_search.cache.SearchLoadCoalescer;
+import com.example.microservice_search.cache.SearchResultCache;
 import com.example.microservice_search.client.FlightClient;
-import com.example.microservice_search.client.PricingClient;
+import com.example.microservice_search.dto.FareCalendarDayDto;
 import com.example.microservice_search.dto.FlightPriceDto;
 import com.example.microservice_search.dto.FlightSearchRequestDto;
 import com.example.microservice_search.dto.FlightSearchResponseDto;
 import com.example.microservice_search.dto.FlightSearchResultDto;
+import com.example.microservice_search.pricing.SearchPricing;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Service;
 
 import java.time.Duration;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -22,22 +30,30 @@ import java.util.stream.Collectors;
 public class SearchServiceImpl implements SearchService {
 
     private final FlightClient flightClient;
-    private final PricingClient pricingClient;
-    private final RedisTemplate<String, Object> redisTemplate;
+    private final SearchPricing searchPricing;
+    private final SearchResultCache searchResultCache;
+    private final SearchLoadCoalescer searchLoadCoalescer;
 
     private static final Duration CACHE_TTL = Duration.ofMinutes(5);
+    // Resultados con algún precio base por falta de respuesta de pricing: se reintentan pronto
+    private static final Duration PARTIAL_CACHE_TTL = Duration.ofSeconds(30);
+    private static final int MAX_FLEX_DAYS = 7;
 
     @Override
     public List<FlightSearchResponseDto> searchFlights(FlightSearchRequestDto request) {
         String cacheKey = buildCacheKey(request);
 
-        @SuppressWarnings("unchecked")
-        List<FlightSearchResponseDto> cached = (List<FlightSearchResponseDto>) redisTemplate.opsForValue().get(cacheKey);
+        List<FlightSearchResponseDto> cached = searchResultCache.get(cacheKey);
         if (cached != null) {
             log.info("Cache hit for search: {}", cacheKey);
             return cached;
         }
 
+        // Con la entrada caducada, solo una petición por clave consulta flight y pricing; el resto espera su resultado
+        return searchLoadCoalescer.load(cacheKey, () -> loadSearch(request, cacheKey));
+    }
+
+    private List<FlightSearchResponseDto> loadSearch(FlightSearchRequestDto request, String cacheKey) {
         log.info("Cache miss - Fetching fresh data for: {}", cacheKey);
 
         LocalDateTime searchDateTime = request.getDepartureDate().atStartOfDay();
@@ -47,39 +63,129 @@ public class SearchServiceImpl implements SearchService {
                 searchDateTime
         );
 
-        List<FlightSearchResponseDto> results = flights.stream()
-                .map(this::enrichWithPricing)
+        // Se filtra antes de pedir precios: no se paga una llamada por vuelos que no caben
+        List<FlightSearchResultDto> candidates = flights.stream()
                 .filter(flight -> flight.getAvailableSeats() >= request.getPassengers())
+                .collect(Collectors.toList());
+        Map<UUID, FlightPriceDto> prices = searchPricing.priceAll(candidates);
+
+        List<FlightSearchResponseDto> results = candidates.stream()
+                .map(flight -> enrichWithPricing(flight, prices.get(flight.getId())))
                 .sorted((a, b) -> a.getCurrentPrice().compareTo(b.getCurrentPrice()))
                 .collect(Collectors.toList());
 
-        redisTemplate.opsForValue().set(cacheKey, results, CACHE_TTL);
+        searchResultCache.put(cacheKey, results, cacheTtl(prices.size(), candidates.size()),
+                tags(request.getOrigin(), request.getDestination(),
+                        List.of(request.getDepartureDate()), candidates));
         log.info("Cached {} flights for key: {}", results.size(), cacheKey);
 
         return results;
     }
 
+    @Override
+    public List<FareCalendarDayDto> getFareCalendar(String origin, String destination, LocalDate date,
+                                                    int flexDays, int passengers) {
+        if (flexDays < 0 || flexDays > MAX_FLEX_DAYS) {
+            throw new IllegalArgumentException("flexDays must be between 0 and " + MAX_FLEX_DAYS);
+        }
+
+        String cacheKey = String.format("flight:calendar:%s:%s:%s:%d:%d",
+                origin, destination, date, flexDays, passengers);
+
+        List<FareCalendarDayDto> cached = searchResultCache.get(cacheKey);
+        if (cached != null) {
+            log.info("Cache hit for fare calendar: {}", cacheKey);
+            return cached;
+        }
+
+        return searchLoadCoalescer.load(cacheKey,
+                () -> loadFareCalendar(origin, destination, date, flexDays, passengers, cacheKey));
+    }
+
+    private List<FareCalendarDayDto> loadFareCalendar(String origin, String destination, LocalDate date,
+                                                      int flexDays, int passengers, String cacheKey) {
+        LocalDate from = date.minusDays(flexDays);
+        LocalDate to = date.plusDays(flexDays);
+
+        // Una sola consulta para toda la ventana y una sola pasada de precios sobre los vuelos que caben
+        List<FlightSearchResultDto> candidates = flightClient.searchFlightsInRange(origin, destination, from, to).stream()
+                .filter(flight -> flight.getAvailableSeats() >= passengers)
+                .collect(Collectors.toList());
+        Map<UUID, FlightPriceDto> prices = searchPricing.priceAll(candidates);
+
+        List<FlightSearchResponseDto> priced = candidates.stream()
+                .map(flight -> enrichWithPricing(flight, prices.get(flight.getId())))
+                .collect(Collectors.toList());
+
+        Map<LocalDate, List<FlightSearchResponseDto>> byDay = priced.stream()
+                .collect(Collectors.groupingBy(flight -> flight.getDepartureTime().toLocalDate()));
+
+        List<FareCalendarDayDto> calendar = new ArrayList<>();
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            List<FlightSearchResponseDto> flights = byDay.getOrDefault(day, List.of());
+            FareCalendarDayDto.FareCalendarDayDtoBuilder entry = FareCalendarDayDto.builder()
+                    .date(day)
+                    .flightsAvailable(flights.size());
+
+            flights.stream()
+                    .min(Comparator.comparing(FlightSearchResponseDto::getCurrentPrice))
+                    .ifPresent(cheapest -> entry
+                            .flightId(cheapest.getFlightId())
+                            .flightNumber(cheapest.getFlightNumber())
+                            .departureTime(cheapest.getDepartureTime())
+                            .lowestPrice(cheapest.getCurrentPrice())
+                            .priceLevel(cheapest.getPriceLevel()));
+
+            calendar.add(entry.build());
+        }
+
+        searchResultCache.put(cacheKey, calendar, cacheTtl(prices.size(), candidates.size()),
+                tags(origin, destination, from.datesUntil(to.plusDays(1)).toList(), candidates));
+        log.info("Cached fare calendar with {} priced flights for key: {}", priced.size(), cacheKey);
+
+        return calendar;
+    }
+
     @Override
     public void clearCache() {
-        redisTemplate.keys("flight:search:*").forEach(key -> redisTemplate.delete(key));
+        searchResultCache.invalidatePrefix("flight:search:");
+        searchResultCache.invalidatePrefix("flight:calendar:");
         log.info("Search cache cleared");
     }
 
-    private FlightSearchResponseDto enrichWithPricing(FlightSearchResultDto flight) {
-        FlightPriceDto priceInfo = null;
-
-        try {
-            priceInfo = pricingClient.calculatePrice(
-                    flight.getId(),
-                    flight.getBasePrice(),
-                    flight.getOccupancyRate(),
-                    flight.getDepartureTime()
-            );
-            log.debug("Price calculated for flight {}: {}", flight.getFlightNumber(), priceInfo.getCurrentPrice());
-        } catch (Exception e) {
-            log.error("Error calculating price for flight {}: {}", flight.getId(), e.getMessage());
-        }
+    @Override
+    public void evictFlight(UUID flightId) {
+        int evicted = searchResultCache.invalidateTag(CacheTags.flight(flightId));
+        log.info("Evicted {} cached searches for flight {}", evicted, flightId);
+    }
+
+    @Override
+    public void evictRoute(String origin, String destination, LocalDate date) {
+        String route = CacheTags.route(origin, destination);
+        int evicted = date != null
+                ? searchResultCache.invalidateTags(List.of(route, CacheTags.date(date)))
+                : searchResultCache.invalidateTag(route);
+        log.info("Evicted {} cached searches for route {}-{}{}", evicted, origin, destination,
+                date != null ? " on " + date : "");
+    }
+
+    // Una entrada depende de su ruta, de los días que cubre y de cada vuelo que muestra; un vuelo que vuelve a tener
+    // plazas no está en la entrada y se cubre invalidando la ruta
+    private List<String> tags(String origin, String destination, List<LocalDate> dates,
+                              List<FlightSearchResultDto> flights) {
+        List<String> tags = new ArrayList<>(1 + dates.size() + flights.size());
+        tags.add(CacheTags.route(origin, destination));
+        dates.forEach(date -> tags.add(CacheTags.date(date)));
+        flights.forEach(flight -> tags.add(CacheTags.flight(flight.getId())));
+        return tags;
+    }
+
+    private Duration cacheTtl(int priced, int total) {
+        return priced < total ? PARTIAL_CACHE_TTL : CACHE_TTL;
+    }
 
+    // Sin precio (error o fuera de plazo) el vuelo se muestra a precio base
+    private FlightSearchResponseDto enrichWithPricing(FlightSearchResultDto flight, FlightPriceDto priceInfo) {
         return FlightSearchResponseDto.builder()
                 .flightId(flight.getId())
                 .flightNumber(flight.getFlightNumber())
@@ -0,0 +1,136 @@
+package com.example.microservice_search.benchmark;
+
+import com.example.microservice_search.client.PricingClient;
+import com.example.microservice_search.dto.BatchPriceRequestDto;
+import com.example.microservice_search.dto.FlightPriceDto;
+import com.example.microservice_search.dto.FlightSearchResultDto;
+import com.example.microservice_search.pricing.SearchPricing;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Latencia p50/p99 de poner precio a un resultado de 30 vuelos: una llamada por vuelo en serie
+ * (como antes) frente a la llamada batch con plazo. Cada ida y vuelta a pricing se simula con
+ * 10-40 ms (más 0,5 ms por vuelo en el batch) y un 1 % de respuestas lentas de 2 s.
+ * No necesita servicios: mvn test -Dbenchmark=true -Dtest=SearchPricingBenchmark
+ */
+class SearchPricingBenchmark {
+
+    private static final int FLIGHTS_PER_SEARCH = 30;
+    private static final int SEARCHES = 40;
+    private static final long DEADLINE_MILLIS = 1500;
+
+    private final PricingClient slowPricing = new PricingClient() {
+        @Override
+        public FlightPriceDto calculatePrice(UUID flightId, BigDecimal basePrice, Double occupancyRate,
+                                             LocalDateTime departureTime) {
+            roundTrip(0);
+            return price(flightId, basePrice);
+        }
+
+        @Override
+        public List<FlightPriceDto> calculatePrices(BatchPriceRequestDto request) {
+            roundTrip(request.getFlights().size() / 2);
+            return request.getFlights().stream()
+                    .map(flight -> price(flight.getFlightId(), flight.getBasePrice()))
+                    .collect(Collectors.toList());
+        }
+    };
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void batchPricingCutsSearchLatency() {
+        List<FlightSearchResultDto> flights = flights();
+
+        List<Long> sequential = new ArrayList<>();
+        for (int i = 0; i < SEARCHES; i++) {
+            long start = System.nanoTime();
+            for (FlightSearchResultDto flight : flights) {
+                slowPricing.calculatePrice(flight.getId(), flight.getBasePrice(),
+                        flight.getOccupancyRate(), flight.getDepartureTime());
+            }
+            sequential.add(elapsedMillis(start));
+        }
+
+        SearchPricing searchPricing = new SearchPricing(slowPricing, 16, 512, DEADLINE_MILLIS);
+        List<Long> batched = new ArrayList<>();
+        int unpriced = 0;
+        try {
+            for (int i = 0; i < SEARCHES; i++) {
+                long start = System.nanoTime();
+                Map<UUID, FlightPriceDto> prices = searchPricing.priceAll(flights);
+                batched.add(elapsedMillis(start));
+                unpriced += flights.size() - prices.size();
+            }
+        } finally {
+            searchPricing.shutdown();
+        }
+
+        System.out.printf("Per-flight pricing: p50 %d ms, p99 %d ms%n",
+                percentile(sequential, 50), percentile(sequential, 99));
+        System.out.printf("Batch pricing:      p50 %d ms, p99 %d ms (%d flights fell back to base price)%n",
+                percentile(batched, 50), percentile(batched, 99), unpriced);
+
+        assertTrue(percentile(batched, 99) <= DEADLINE_MILLIS + 100, "Batch pricing exceeded the search deadline");
+        assertTrue(percentile(batched, 50) * 4 < percentile(sequential, 50), "Batch pricing did not reduce median latency");
+    }
+
+    private static void roundTrip(int extraMillis) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long millis = random.nextInt(100) == 0 ? 2000 : 10 + random.nextInt(31) + extraMillis;
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static FlightPriceDto price(UUID flightId, BigDecimal basePrice) {
+        return FlightPriceDto.builder()
+                .flightId(flightId)
+                .basePrice(basePrice)
+                .currentPrice(basePrice)
+                .priceLevel("LOW")
+                .build();
+    }
+
+    private static List<FlightSearchResultDto> flights() {
+        List<FlightSearchResultDto> flights = new ArrayList<>();
+        for (int i = 0; i < FLIGHTS_PER_SEARCH; i++) {
+            flights.add(FlightSearchResultDto.builder()
+                    .id(UUID.randomUUID())
+                    .flightNumber("BM" + i)
+                    .basePrice(new BigDecimal("100.00"))
+                    .occupancyRate(0.5)
+                    .departureTime(LocalDateTime.now().plusDays(10))
+                    .availableSeats(100)
+                    .build());
+        }
+        return flights;
+    }
+
+    private static long elapsedMillis(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+
+    private static long percentile(List<Long> samples, int percentile) {
+        List<Long> sorted = new ArrayList<>(samples);
+        Collections.sort(sorted);
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.size()) - 1;
+        return sorted.get(Math.max(0, index));
+    }
+}
@@ -155,7 +155,7 @@ export default function SeatSelector({ availableSeats }) {
                   {seatsByRow[row]
                     .sort((a, b) => a.seatNumber.localeCompare(b.seatNumber))
                     .map((seat, index) => (
-                      <div key={seat.id} className="flex gap-1">
+                      <div key={seat.seatNumber} className="flex gap-1">
                         <button
                           onClick={() => handleSeatClick(seat)}
                           disabled={seat.status !== 'AVAILABLE'}